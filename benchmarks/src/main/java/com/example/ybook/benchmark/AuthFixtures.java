@@ -0,0 +1,66 @@
+package com.example.ybook.benchmark;
+
+import com.example.ybook.cache.UserProfileCache;
+import com.example.ybook.config.UserCacheProperties;
+import com.example.ybook.entity.UserEntity;
+import com.example.ybook.mapper.UserMapper;
+import com.example.ybook.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * <p>
+ * 认证基准测试的公共夹具
+ * </p>
+ * 用内存中的单个用户代替数据库，只保留认证链路本身的开销。
+ */
+final class AuthFixtures {
+
+    static final Long USER_ID = 1L;
+    static final String USERNAME = "bench";
+    static final String PASSWORD = "bench-password";
+
+    private static final String SECRET = "ZGVmYXVsdC1zZWNyZXQtZm9yLXlib29rLXNwcmluZy1zZWN1cml0eQ==";
+
+    private AuthFixtures() {
+    }
+
+    static UserEntity user(String passwordHash) {
+        UserEntity user = new UserEntity();
+        user.setId(USER_ID);
+        user.setUsername(USERNAME);
+        user.setPassword(passwordHash);
+        user.setNickname("基准用户");
+        user.setStatus("1");
+        return user;
+    }
+
+    /**
+     * @param verifiedCacheTtl 为 0 时每次都重新校验签名
+     */
+    static JwtService jwtService(Duration verifiedCacheTtl) {
+        return new JwtService(SECRET, 86_400_000L, 10_000, verifiedCacheTtl, new SimpleMeterRegistry());
+    }
+
+    static UserProfileCache userProfileCache(UserEntity user) {
+        return new UserProfileCache(userMapper(user), new UserCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * 只实现用户资料缓存用到的查询，其余方法不应被调用
+     */
+    static UserMapper userMapper(UserEntity user) {
+        return (UserMapper) Proxy.newProxyInstance(UserMapper.class.getClassLoader(), new Class<?>[]{UserMapper.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "selectById", "selectOne" -> user;
+                    case "selectByIds" -> List.of(user);
+                    case "toString" -> "UserMapperStub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ybook.benchmark;
+
+import com.example.ybook.security.CurrentUserContext;
+import com.example.ybook.security.JwtAuthenticationFilter;
+import com.example.ybook.security.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * JwtAuthenticationFilter 单次请求认证
+ * </p>
+ * 从读取 Authorization 头到填充 SecurityContext 与 CurrentUserContext 的完整过程；
+ * 用户资料来自预热后的本地缓存，与线上缓存命中时一致。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean verifiedCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private CapturingChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = AuthFixtures.jwtService(verifiedCache ? Duration.ofMinutes(5) : Duration.ZERO);
+        var userProfileCache = AuthFixtures.userProfileCache(AuthFixtures.user("{noop}"));
+        filter = new JwtAuthenticationFilter(jwtService, userProfileCache);
+
+        String token = jwtService.generateToken(userProfileCache.getById(AuthFixtures.USER_ID), Set.of("ROLE_USER"));
+        request = new MockHttpServletRequest("GET", "/api/notes");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = new CapturingChain();
+    }
+
+    @Benchmark
+    public void authenticate(Blackhole blackhole) throws Exception {
+        filter.doFilter(request, response, chain);
+        blackhole.consume(chain.authentication);
+        // 线上由 SecurityContextHolderFilter 在请求结束时清理
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown(Level.Iteration)
+    public void verify() {
+        if (chain.authentication == null || chain.userId == null) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+    }
+
+    /**
+     * 记录后续过滤器看到的认证结果，用于确认每次请求都认证成功
+     */
+    private static final class CapturingChain implements FilterChain {
+
+        private Authentication authentication;
+        private Long userId;
+
+        @Override
+        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+            authentication = SecurityContextHolder.getContext().getAuthentication();
+            userId = CurrentUserContext.getUserId();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ybook.benchmark;
+
+import com.example.ybook.cache.UserProfile;
+import com.example.ybook.security.JwtService;
+import com.example.ybook.security.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * JwtService 签发与解析
+ * </p>
+ * verifiedCache=false 时每次解析都做 HMAC 校验与 JSON 解析；true 时重复令牌命中已校验缓存。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean verifiedCache;
+
+    private JwtService jwtService;
+    private UserProfile profile;
+    private Set<String> roles;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = AuthFixtures.jwtService(verifiedCache ? Duration.ofMinutes(5) : Duration.ZERO);
+        profile = AuthFixtures.userProfileCache(AuthFixtures.user("{noop}")).getById(AuthFixtures.USER_ID);
+        roles = Set.of("ROLE_USER");
+        token = jwtService.generateToken(profile, roles);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(profile, roles);
+    }
+
+    @Benchmark
+    public VerifiedToken parse() {
+        return jwtService.parse(token);
+    }
+}
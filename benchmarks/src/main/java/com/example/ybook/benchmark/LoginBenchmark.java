@@ -0,0 +1,80 @@
+package com.example.ybook.benchmark;
+
+import com.example.ybook.cache.UserProfileCache;
+import com.example.ybook.config.LoginProperties;
+import com.example.ybook.dto.LoginRequestDTO;
+import com.example.ybook.dto.LoginResponse;
+import com.example.ybook.entity.UserEntity;
+import com.example.ybook.security.JwtService;
+import com.example.ybook.security.LoginRateLimiter;
+import com.example.ybook.security.UserDetailsServiceImpl;
+import com.example.ybook.service.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * AuthServiceImpl.login 完整登录
+ * </p>
+ * 经 DaoAuthenticationProvider 做 BCrypt 校验并签发令牌，耗时主要取决于 BCrypt 强度。
+ * 关闭限流并在调用线程上执行，只测量单次登录本身的开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    /**
+     * BCrypt 强度，10 为 BCryptPasswordEncoder 默认值
+     */
+    @Param({"10", "12"})
+    public int strength;
+
+    private AuthServiceImpl authService;
+    private LoginRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+        UserEntity user = AuthFixtures.user(passwordEncoder.encode(AuthFixtures.PASSWORD));
+        UserProfileCache userProfileCache = AuthFixtures.userProfileCache(user);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(
+                new UserDetailsServiceImpl(userProfileCache, AuthFixtures.userMapper(user)));
+        provider.setPasswordEncoder(passwordEncoder);
+        JwtService jwtService = AuthFixtures.jwtService(Duration.ofMinutes(5));
+        LoginProperties loginProperties = new LoginProperties();
+        loginProperties.setRateLimitEnabled(false);
+
+        // 登录流程不使用 UserService
+        authService = new AuthServiceImpl(new ProviderManager(provider), jwtService, null, passwordEncoder,
+                userProfileCache, new LoginRateLimiter(loginProperties, new SimpleMeterRegistry()), Runnable::run);
+        request = new LoginRequestDTO();
+        request.setUsername(AuthFixtures.USERNAME);
+        request.setPassword(AuthFixtures.PASSWORD);
+    }
+
+    @Benchmark
+    public LoginResponse login() {
+        return authService.login(request, "127.0.0.1").join();
+    }
+}
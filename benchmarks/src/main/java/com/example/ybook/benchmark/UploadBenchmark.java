@@ -0,0 +1,125 @@
+package com.example.ybook.benchmark;
+
+import com.example.ybook.config.ImageProperties;
+import com.example.ybook.config.StorageProperties;
+import com.example.ybook.config.UploadProperties;
+import com.example.ybook.image.ImageVariants;
+import com.example.ybook.mapper.FileObjectMapper;
+import com.example.ybook.service.impl.FileUploadServiceImpl;
+import com.example.ybook.storage.LocalObjectStorage;
+import com.example.ybook.vo.FileUploadVO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * FileUploadServiceImpl.uploadStream 流式上传
+ * </p>
+ * 对象写入临时目录下的 LocalObjectStorage，不经过 MinIO 与网络，只测量上传链路本身：
+ * 大小限制、SHA-256 计算与写盘。吞吐（MB/s）= 分数 * sizeKb / 1024。
+ * 每次上传后删除写入的文件，避免占满磁盘；删除不计入分数。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadBenchmark {
+
+    /**
+     * 单个文件大小（KB）
+     */
+    @Param({"256", "8192"})
+    public int sizeKb;
+
+    /**
+     * 是否按内容去重：true 时边写边计算 SHA-256 并登记索引
+     */
+    @Param({"false", "true"})
+    public boolean dedup;
+
+    private Path root;
+    private LocalObjectStorage storage;
+    private FileUploadServiceImpl uploadService;
+    private byte[] content;
+    private String lastUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("ybook-upload-bench");
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.getLocal().setRoot(root);
+        storage = new LocalObjectStorage(storageProperties);
+        UploadProperties uploadProperties = new UploadProperties();
+        uploadProperties.setDedupEnabled(dedup);
+
+        // 内容类型不是图片，不会生成缩略图；流式上传不使用上传会话与直传记录
+        uploadService = new FileUploadServiceImpl(storage, uploadProperties, Runnable::run, null,
+                new ImageVariants(storage, new ImageProperties(), null), fileObjectMapper(), null,
+                new SimpleMeterRegistry());
+        content = new byte[sizeKb * 1024];
+        ThreadLocalRandom.current().nextBytes(content);
+    }
+
+    @Benchmark
+    public FileUploadVO uploadStream() {
+        FileUploadVO result = uploadService.uploadStream(new ByteArrayInputStream(content), "bench.bin",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE, content.length, null);
+        lastUrl = result.getUrl();
+        return result;
+    }
+
+    @TearDown(Level.Invocation)
+    public void removeUploaded() throws IOException {
+        storage.removeObject(lastUrl.substring(storage.objectUrl("").length()));
+    }
+
+    @TearDown
+    public void cleanUp() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 去重索引总是未命中，登记总是成功
+     */
+    private static FileObjectMapper fileObjectMapper() {
+        return (FileObjectMapper) Proxy.newProxyInstance(FileObjectMapper.class.getClassLoader(),
+                new Class<?>[]{FileObjectMapper.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "selectById" -> null;
+                    case "insert" -> 1;
+                    case "toString" -> "FileObjectMapperStub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,55 @@
+// 平台线程 / 虚拟线程模式对比压测脚本（k6）
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERNAME=alice -e PASSWORD=123456 docs/loadtest/virtual-threads.js
+//
+// 两种模式使用同一份数据和同一台压测机各跑一次，对比 http_req_duration 分位数、
+// http_reqs 吞吐与 http_req_failed 错误率，结果按 docs/virtual-threads.md 中的表格记录。
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const FILE = open('./sample.jpg', 'b');
+
+export const options = {
+    scenarios: {
+        // 读为主：分页列表与评论，数据库 I/O 密集
+        read: {
+            executor: 'ramping-vus',
+            exec: 'read',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '2m', target: 800 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+        // 上传：MinIO 网络 I/O 密集
+        upload: {
+            executor: 'constant-vus',
+            exec: 'upload',
+            vus: 50,
+            duration: '3m',
+        },
+    },
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'login ok': (r) => r.status === 200 });
+    return { token: res.json('data.token') };
+}
+
+export function read(data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+    const res = http.get(`${BASE_URL}/api/notes/page?current=1&size=20`, params);
+    check(res, { 'page ok': (r) => r.status === 200 });
+}
+
+export function upload() {
+    const res = http.post(`${BASE_URL}/api/files/upload`, {
+        file: http.file(FILE, 'sample.jpg', 'image/jpeg'),
+    });
+    check(res, { 'upload ok': (r) => r.status === 200 });
+}
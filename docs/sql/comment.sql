@@ -15,8 +15,8 @@ CREATE TABLE y_comment (
     update_time DATETIME NOT NULL COMMENT '更新时间',
     
     -- 索引优化
-    KEY idx_note_root_level_time (note_id, root_comment_id, is_deleted, create_time DESC) COMMENT '笔记根评论查询索引',
-    KEY idx_root_id_time (root_comment_id, is_deleted, create_time ASC) COMMENT '根评论回复查询索引', 
+    KEY idx_note_root_level_time (note_id, root_comment_id, is_deleted, create_time, id) COMMENT '笔记根评论查询索引，id 保证游标定位唯一',
+    KEY idx_root_id_time (root_comment_id, is_deleted, create_time, id) COMMENT '根评论回复查询索引，id 保证游标定位唯一',
     KEY idx_user_id_deleted (user_id, is_deleted) COMMENT '用户评论查询索引',
     KEY idx_reply_to_id (reply_to_comment_id, is_deleted) COMMENT '回复关系查询索引',
     KEY idx_create_time (create_time DESC) COMMENT '时间排序索引'
@@ -0,0 +1,8 @@
+-- 文件内容索引表：上传时计算 SHA-256，相同内容直接返回已有对象，不再重复写入 MinIO
+CREATE TABLE y_file_object (
+    sha256 CHAR(64) NOT NULL PRIMARY KEY COMMENT '文件内容的 SHA-256（小写十六进制）',
+    object_name VARCHAR(512) NOT NULL COMMENT '存储该内容的对象名',
+    size BIGINT NOT NULL COMMENT '文件大小（字节）',
+    content_type VARCHAR(128) NULL COMMENT '首次上传时的文件类型',
+    create_time DATETIME NOT NULL COMMENT '创建时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文件内容索引表';
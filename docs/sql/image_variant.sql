@@ -0,0 +1,6 @@
+-- 图片缩略图记录表：缩略图生成成功后写入，返回笔记时只为有记录的规格填充缩略图地址
+CREATE TABLE y_image_variant (
+    object_name VARCHAR(512) NOT NULL PRIMARY KEY COMMENT '原图对象名',
+    variants VARCHAR(64) NOT NULL COMMENT '已生成的规格，逗号分隔',
+    create_time DATETIME NOT NULL COMMENT '创建时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图片缩略图记录表';
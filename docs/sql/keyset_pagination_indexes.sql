@@ -0,0 +1,18 @@
+-- 游标（Keyset）分页所需索引：已有库的升级脚本，comment.sql、user_note_interaction.sql 的建表语句已包含这些索引
+-- 游标查询按排序键直接在索引上定位下一页，不再使用 OFFSET，也不执行 COUNT(*)
+-- 游标条件按 a < ? OR (a = ? AND b < ?) 展开书写：MySQL 范围优化不处理行构造器的 < / > 比较
+
+-- 笔记信息流：WHERE uid = ? AND 游标 (is_top, update_time, id) 之后 ORDER BY is_top DESC, update_time DESC, id DESC
+ALTER TABLE y_note ADD KEY idx_uid_top_update_id (uid, is_top, update_time, id);
+
+-- 根评论：WHERE note_id = ? AND root_comment_id IS NULL AND is_deleted = 0 AND 游标 (create_time, id) 之前
+-- 回复：WHERE root_comment_id = ? AND is_deleted = 0 AND 游标 (create_time, id) 之后
+-- 已有的 idx_note_root_level_time、idx_root_id_time 覆盖前缀，补充 id 作为最后一列以保证游标定位唯一
+ALTER TABLE y_comment
+    DROP KEY idx_note_root_level_time,
+    ADD KEY idx_note_root_level_time (note_id, root_comment_id, is_deleted, create_time, id),
+    DROP KEY idx_root_id_time,
+    ADD KEY idx_root_id_time (root_comment_id, is_deleted, create_time, id);
+
+-- 收藏/点赞列表：WHERE user_id = ? AND 游标 (update_time, note_id) 之前 ORDER BY update_time DESC, note_id DESC
+ALTER TABLE y_user_note_interaction ADD KEY idx_user_update_note (user_id, update_time, note_id);
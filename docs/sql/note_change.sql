@@ -0,0 +1,7 @@
+-- 笔记变更 outbox 表：笔记写入时在同一事务内追加一行，各节点按自己的同步位置读取，所有存活节点都同步后由清理任务删除（见 search_node.sql）
+CREATE TABLE y_note_change (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID，即变更顺序',
+    note_id BIGINT NOT NULL COMMENT '笔记ID',
+    change_type TINYINT NOT NULL COMMENT '变更类型: 1-新增或更新 2-删除',
+    create_time DATETIME(3) NOT NULL COMMENT '变更时间，用于计算同步延迟'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='笔记变更记录表';
@@ -0,0 +1,12 @@
+-- 直传签名记录表：签名时写入，完成回调只处理本人名下待完成的记录；过期未完成的记录连同已上传的对象一并清理
+CREATE TABLE y_presigned_upload (
+    object_name VARCHAR(512) NOT NULL PRIMARY KEY COMMENT '签名时分配的对象名',
+    user_id BIGINT NOT NULL COMMENT '申请签名的用户ID',
+    content_type VARCHAR(128) NOT NULL COMMENT '声明的文件类型',
+    size BIGINT NOT NULL COMMENT '声明的文件大小（字节）',
+    status TINYINT NOT NULL DEFAULT 0 COMMENT '状态: 0-等待上传 1-已完成',
+    expire_time DATETIME NOT NULL COMMENT '完成回调截止时间',
+    create_time DATETIME NOT NULL COMMENT '创建时间',
+    update_time DATETIME NOT NULL COMMENT '更新时间',
+    KEY idx_expire (expire_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='直传签名记录表';
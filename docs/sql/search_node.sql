@@ -0,0 +1,6 @@
+-- 检索节点表：每个实例的本地索引登记已同步到的变更ID，y_note_change 中所有存活节点都已同步的记录才会被清理
+CREATE TABLE y_search_node (
+    node_id VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '节点ID，随索引持久化',
+    last_change_id BIGINT NOT NULL COMMENT '已提交到该节点索引的最大变更ID',
+    heartbeat_time DATETIME NOT NULL COMMENT '最近一次登记时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='检索节点同步位置表';
@@ -0,0 +1,17 @@
+-- 可续传上传会话表：每行对应 MinIO 中的一次分片上传，任意节点都可据此继续上传；已上传的分片以 MinIO ListParts 为准
+CREATE TABLE y_upload_session (
+    id CHAR(32) NOT NULL PRIMARY KEY COMMENT '会话ID',
+    user_id BIGINT NOT NULL COMMENT '创建会话的用户ID',
+    object_name VARCHAR(512) NOT NULL COMMENT '最终对象名',
+    original_filename VARCHAR(255) NOT NULL COMMENT '原始文件名',
+    content_type VARCHAR(128) NULL COMMENT '文件类型',
+    total_size BIGINT NOT NULL COMMENT '文件总大小（字节）',
+    chunk_size BIGINT NOT NULL COMMENT '分片大小（字节）',
+    chunk_count INT NOT NULL COMMENT '分片总数',
+    upload_id VARCHAR(255) NOT NULL COMMENT 'MinIO 分片上传ID',
+    status TINYINT NOT NULL DEFAULT 0 COMMENT '状态: 0-上传中 1-已完成',
+    expire_time DATETIME NOT NULL COMMENT '过期时间',
+    create_time DATETIME NOT NULL COMMENT '创建时间',
+    update_time DATETIME NOT NULL COMMENT '更新时间',
+    KEY idx_status_expire (status, expire_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='可续传上传会话表';
@@ -14,5 +14,8 @@ CREATE TABLE y_user_note_interaction (
     KEY idx_note_interaction (note_id, interaction_type),
     
     -- 复合索引：优化根据用户ID和交互类型查询
-    KEY idx_user_interaction (user_id, interaction_type)
+    KEY idx_user_interaction (user_id, interaction_type),
+
+    -- 复合索引：收藏/点赞列表按 (update_time, note_id) 游标分页
+    KEY idx_user_update_note (user_id, update_time, note_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户笔记交互表';
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.ybook.cache;
+
+import com.example.ybook.entity.UserEntity;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * <p>
+ * 用户资料精简投影
+ * </p>
+ * 只包含认证与展示所需的字段，作为 {@link UserProfileCache} 的缓存值，不可变。
+ */
+@Value
+public class UserProfile {
+
+    Long id;
+
+    String username;
+
+    /**
+     * 密码哈希，仅供认证使用，不得返回给前端
+     */
+    String password;
+
+    /**
+     * 0: disabled; 1: normal
+     */
+    String status;
+
+    String nickname;
+
+    String avatar;
+
+    /**
+     * 凭证版本，由密码哈希派生；写入 JWT，修改密码后此前签发的令牌随之失效
+     */
+    String credentialVersion;
+
+    static UserProfile of(UserEntity entity) {
+        return new UserProfile(entity.getId(), entity.getUsername(), entity.getPassword(), entity.getStatus(),
+                entity.getNickname(), entity.getAvatar(), credentialVersionOf(entity.getPassword()));
+    }
+
+    private static String credentialVersionOf(String passwordHash) {
+        if (passwordHash == null) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 未设置状态视为启用
+     */
+    public boolean isEnabled() {
+        return status == null || "1".equals(status);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ybook.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.ybook.config.UserCacheProperties;
+import com.example.ybook.entity.UserEntity;
+import com.example.ybook.mapper.UserMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 用户资料本地缓存
+ * </p>
+ * 按用户ID和用户名分别缓存 {@link UserProfile}，供 JWT 认证、登录和评论作者信息填充使用。
+ * 两个索引均按写入时间过期并限制容量；任一索引加载时会同时填充另一个。
+ * 不存在的用户不缓存。通过本服务修改或删除用户后须调用 {@link #invalidate(Long)}，
+ * 在事务中调用时提交后会再失效一次，避免并发请求把提交前的旧数据重新写回缓存。
+ * 失效只作用于本实例，其他实例依赖过期；令牌失效判断使用 {@link #getForRevocationCheck} 以更短的时限重新加载。
+ * 命中率等指标以 cache=userProfileById / userProfileByUsername 标签发布在 cache.* 下。
+ */
+@Component
+public class UserProfileCache {
+
+    private final UserMapper userMapper;
+    private final Cache<Long, UserProfile> byId;
+    private final Cache<String, UserProfile> byUsername;
+    private final Duration revocationCheckTtl;
+
+    public UserProfileCache(UserMapper userMapper, UserCacheProperties userCacheProperties, MeterRegistry meterRegistry) {
+        this.userMapper = userMapper;
+        this.byId = newCache(userCacheProperties);
+        this.byUsername = newCache(userCacheProperties);
+        this.revocationCheckTtl = userCacheProperties.getRevocationCheckTtl();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "userProfileById");
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "userProfileByUsername");
+    }
+
+    /**
+     * 按ID获取用户资料，用户不存在时返回 null
+     */
+    public UserProfile getById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return byId.get(id, key -> {
+            UserEntity entity = userMapper.selectById(key);
+            return entity == null ? null : cacheByUsername(UserProfile.of(entity));
+        });
+    }
+
+    /**
+     * 按ID获取用于判断令牌是否失效的用户资料：缓存条目存在超过 revocation-check-ttl 时重新查询数据库，
+     * 其他实例上的禁用、删除与改密最多滞后该时长生效
+     */
+    public UserProfile getForRevocationCheck(Long id) {
+        if (id == null) {
+            return null;
+        }
+        boolean stale = byId.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(id))
+                .map(age -> age.compareTo(revocationCheckTtl) > 0)
+                .orElse(false);
+        if (!stale) {
+            return getById(id);
+        }
+        UserEntity entity = userMapper.selectById(id);
+        invalidateNow(id);
+        return entity == null ? null : cacheById(cacheByUsername(UserProfile.of(entity)));
+    }
+
+    /**
+     * 按用户名获取用户资料，用户不存在时返回 null
+     */
+    public UserProfile getByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        return byUsername.get(username, key -> {
+            UserEntity entity = userMapper.selectOne(new LambdaQueryWrapper<UserEntity>()
+                    .eq(UserEntity::getUsername, key));
+            return entity == null ? null : cacheById(UserProfile.of(entity));
+        });
+    }
+
+    /**
+     * 批量按ID获取用户资料，未命中的用户合并为一次 IN 查询；结果不包含不存在的用户
+     */
+    public Map<Long, UserProfile> getAllByIds(Collection<Long> ids) {
+        return byId.getAll(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()), missing ->
+                userMapper.selectByIds(missing).stream()
+                        .map(UserProfile::of)
+                        .map(this::cacheByUsername)
+                        .collect(Collectors.toMap(UserProfile::getId, Function.identity())));
+    }
+
+    /**
+     * 失效用户的缓存；在事务中调用时提交后再失效一次
+     */
+    public void invalidate(Long id) {
+        invalidateNow(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(id);
+                }
+            });
+        }
+    }
+
+    private void invalidateNow(Long id) {
+        byId.invalidate(id);
+        // 用户名可能已被修改，按ID清理用户名索引中的所有条目
+        byUsername.asMap().values().removeIf(profile -> profile.getId().equals(id));
+    }
+
+    private UserProfile cacheById(UserProfile profile) {
+        byId.put(profile.getId(), profile);
+        return profile;
+    }
+
+    private UserProfile cacheByUsername(UserProfile profile) {
+        byUsername.put(profile.getUsername(), profile);
+        return profile;
+    }
+
+    private static <K> Cache<K, UserProfile> newCache(UserCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+    }
+}
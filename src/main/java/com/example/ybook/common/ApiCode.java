@@ -21,6 +21,7 @@ public enum ApiCode {
     INTERNAL_ERROR(50000, "Internal server error"),
     METHOD_NOT_ALLOWED(40500, "Method not allowed"),
     MEDIA_TYPE_NOT_SUPPORTED(41500, "不支持的媒体类型"),
+    TOO_MANY_REQUESTS(42900, "请求过于频繁，请稍后重试"),
 
     // 认证/鉴权
     UNAUTHORIZED(40100, "未认证"),
@@ -64,7 +65,10 @@ public enum ApiCode {
     FILE_DELETE_FAILED(50004, "文件删除失败"),
     FILE_NOT_FOUND(50005, "文件不存在"),
     FILE_SIZE_EXCEEDED(50006, "文件大小超出限制"),
-    FILE_TYPE_NOT_SUPPORTED(50007, "不支持的文件类型");
+    FILE_TYPE_NOT_SUPPORTED(50007, "不支持的文件类型"),
+    UPLOAD_SESSION_NOT_FOUND(50008, "上传会话不存在或已过期"),
+    UPLOAD_CHUNKS_INCOMPLETE(50009, "仍有分片未上传"),
+    FILE_STORAGE_UNSUPPORTED(50010, "当前存储不支持该操作");
 
     private final int code;
     private final String message;
@@ -0,0 +1,22 @@
+package com.example.ybook.common;
+
+/**
+ * 分页总数统计模式
+ */
+public enum CountMode {
+
+    /**
+     * 每次执行 COUNT(*) 返回精确总数
+     */
+    EXACT,
+
+    /**
+     * 不统计总数，多取一条记录判断是否有下一页
+     */
+    NONE,
+
+    /**
+     * 返回短期缓存的总数（近似值），缓存失效时才执行 COUNT(*)
+     */
+    CACHED
+}
@@ -0,0 +1,60 @@
+package com.example.ybook.common;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Getter;
+
+/**
+ * <p>
+ * 携带总数统计模式的分页对象
+ * </p>
+ * NONE 模式下关闭 COUNT 查询，并向分页插件多申请一条记录用于判断是否有下一页，
+ * 偏移量仍按调用方请求的每页数量计算。
+ */
+@Getter
+public class CountModePage<T> extends Page<T> {
+
+    private final CountMode countMode;
+
+    /**
+     * 调用方请求的每页数量（NONE 模式下 getSize() 比它多一）
+     */
+    private final long pageSize;
+
+    /**
+     * 总数缓存键，仅 CACHED 模式使用，由服务层根据查询条件设置
+     */
+    private String countCacheKey;
+
+    public CountModePage(long current, long size, CountMode countMode) {
+        super(current, countMode == CountMode.NONE ? size + 1 : size, countMode != CountMode.NONE);
+        this.countMode = countMode;
+        this.pageSize = size;
+    }
+
+    public void setCountCacheKey(String countCacheKey) {
+        this.countCacheKey = countCacheKey;
+    }
+
+    /**
+     * 调用方请求的每页数量
+     */
+    public static long pageSizeOf(Page<?> page) {
+        return page instanceof CountModePage<?> countModePage ? countModePage.getPageSize() : page.getSize();
+    }
+
+    /**
+     * 是否统计总数（NONE 模式不统计，总数始终为 0）
+     */
+    public static boolean isCounted(Page<?> page) {
+        return !(page instanceof CountModePage<?> countModePage) || countModePage.getCountMode() != CountMode.NONE;
+    }
+
+    @Override
+    public long offset() {
+        long current = getCurrent();
+        if (current <= 1L) {
+            return 0L;
+        }
+        return Math.max((current - 1) * pageSize, 0L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ybook.common;
+
+import com.example.ybook.exception.BizException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * <p>
+ * 游标编解码工具：将排序键编码为对客户端不透明的 URL 安全字符串
+ * </p>
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {}
+
+    /**
+     * 将排序键按顺序编码为游标
+     */
+    public static String encode(Object... keys) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        for (Object key : keys) {
+            joiner.add(String.valueOf(key));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，返回排序键数组；游标为空时返回 null
+     *
+     * @param cursor   客户端传入的游标
+     * @param keyCount 期望的排序键个数
+     */
+    public static String[] decode(String cursor, int keyCount) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (keys.length != keyCount) {
+            throw invalid();
+        }
+        return keys;
+    }
+
+    public static Long parseLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    public static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    private static BizException invalid() {
+        return new BizException(ApiCode.PARAM_INVALID, "分页游标无效");
+    }
+}
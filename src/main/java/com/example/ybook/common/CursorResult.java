@@ -0,0 +1,70 @@
+package com.example.ybook.common;
+
+import com.example.ybook.exception.BizException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * 游标分页返回结果（基于索引定位，不统计总数）
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+// 注意：不要设置固定的 name，避免不同 T 的分页结果被折叠
+@Schema(description = "游标分页结果")
+public class CursorResult<T> {
+    @Schema(description = "每页数量", example = "10")
+    private long size;
+    @Schema(description = "是否还有下一页", example = "true")
+    private boolean hasNext;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "下一页游标，没有下一页时为空", example = "MXwyMDI1LTA5LTIwVDEwOjAwfDEwMA")
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @Schema(description = "记录列表")
+    private List<T> records;
+
+    /**
+     * 单页最大数量
+     */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * 校验每页数量并返回实际查询条数（多取一条用于判断是否有下一页）
+     */
+    public static int fetchLimit(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BizException(ApiCode.PARAM_INVALID, "每页数量需在 1 到 " + MAX_SIZE + " 之间");
+        }
+        return size + 1;
+    }
+
+    /**
+     * 根据多取一条的查询结果构造游标分页结果
+     *
+     * @param rows     按 size + 1 查询得到的记录
+     * @param size     每页数量
+     * @param cursorOf 根据本页最后一条记录生成下一页游标
+     */
+    public static <T> CursorResult<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> records = hasNext ? rows.subList(0, size) : rows;
+        return CursorResult.<T>builder()
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(records.get(records.size() - 1)) : null)
+                .records(records)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ybook.common;
+
+import lombok.Value;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * <p>
+ * 图片尺寸
+ * </p>
+ * 只解析图片头部获取宽高，不解码像素数据。
+ */
+@Value
+public class ImageDimensions {
+
+    int width;
+
+    int height;
+
+    /**
+     * 读取图片宽高；不是图片或格式不受支持（ImageIO 支持 JPEG、PNG、GIF、BMP、TIFF）时返回 null
+     */
+    public static ImageDimensions read(InputStream inputStream) throws IOException {
+        try (ImageInputStream imageStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageStream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                // seekForwardOnly + ignoreMetadata：只向前读到尺寸信息为止
+                reader.setInput(imageStream, true, true);
+                return new ImageDimensions(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 同 {@link #read(InputStream)}，读取失败时返回 null
+     */
+    public static ImageDimensions readQuietly(InputStream inputStream) {
+        try {
+            return read(inputStream);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
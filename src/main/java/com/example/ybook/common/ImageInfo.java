@@ -1,5 +1,7 @@
 package com.example.ybook.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.AllArgsConstructor;
@@ -22,4 +24,10 @@ public class ImageInfo {
     
     @Schema(description = "图片高度（像素）", example = "1080")
     private Integer height;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "当前视图使用的缩略图URL（列表为小图，详情为大图），只读；为空或加载失败时使用 url",
+            example = "https://example.com/image@list.jpg", accessMode = Schema.AccessMode.READ_ONLY)
+    private String displayUrl;
 }
\ No newline at end of file
@@ -28,10 +28,15 @@ public class PageResult<T> {
     private long current;
     @Schema(description = "每页数量", example = "10")
     private long size;
-    @Schema(description = "总记录数", example = "100")
-    private long total;
-    @Schema(description = "总页数", example = "10")
-    private long pages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "总记录数，默认精确统计；请求或配置选择 none 时为空，cached 时为近似值", example = "100")
+    private Long total;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "总页数，不统计总数时为空", example = "10")
+    private Long pages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "是否还有下一页", example = "true")
+    private Boolean hasNext;
 
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     @Schema(description = "记录列表")
@@ -0,0 +1,175 @@
+package com.example.ybook.config;
+
+import com.example.ybook.security.CurrentUserTaskDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * <p>
+ * 异步任务线程池配置
+ * </p>
+ * 每类后台任务使用独立的有界线程池，互不抢占；未指定线程池的 {@code @Async} 使用 async 池。
+ * 线程池的队列长度、活跃线程数等指标由 actuator 以 executor.* 自动采集（name 标签为 Bean 名），
+ * 任务排队与执行耗时见 {@link TimedTaskDecorator}，被拒绝的任务计入 ybook.async.rejected。
+ * 提交任务时的当前用户由 {@link CurrentUserTaskDecorator} 传递到执行线程。
+ * 开启 spring.threads.virtual.enabled 后，以阻塞 I/O 为主的线程池改用虚拟线程，线程数与队列上限不变，
+ * 仍然限制了对数据库连接池的并发占用；CPU 密集的 login、image 池始终使用平台线程。
+ */
+@Slf4j
+@Configuration
+public class AsyncConfig implements AsyncConfigurer {
+
+    /**
+     * 计数写入与校正
+     */
+    public static final String COUNTERS_EXECUTOR = "countersExecutor";
+
+    /**
+     * 评论统计更新
+     */
+    public static final String COMMENT_STATS_EXECUTOR = "commentStatsExecutor";
+
+    /**
+     * 检索索引重建与增量同步
+     */
+    public static final String SEARCH_INDEX_EXECUTOR = "searchIndexExecutor";
+
+    /**
+     * 登录密码校验，与 Web 线程隔离
+     */
+    public static final String LOGIN_EXECUTOR = "loginExecutor";
+
+    /**
+     * 批量上传时并行写入对象存储
+     */
+    public static final String UPLOAD_EXECUTOR = "uploadExecutor";
+
+    /**
+     * 上传后的图片处理（缩略图生成）
+     */
+    public static final String IMAGE_EXECUTOR = "imageExecutor";
+
+    /**
+     * 未指定线程池的 @Async 任务
+     */
+    public static final String ASYNC_EXECUTOR = "asyncExecutor";
+
+    private final AsyncProperties asyncProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean virtualThreads;
+
+    public AsyncConfig(AsyncProperties asyncProperties, ObjectProvider<MeterRegistry> meterRegistry,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.asyncProperties = asyncProperties;
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * 计数任务不可丢弃，队列满时由提交线程执行，形成背压
+     */
+    @Bean(COUNTERS_EXECUTOR)
+    public ThreadPoolTaskExecutor countersExecutor() {
+        return newExecutor("counters", new ThreadPoolExecutor.CallerRunsPolicy(), virtualThreads);
+    }
+
+    /**
+     * 评论统计不可丢弃，队列满时由提交线程执行，形成背压
+     */
+    @Bean(COMMENT_STATS_EXECUTOR)
+    public ThreadPoolTaskExecutor commentStatsExecutor() {
+        return newExecutor("comment-stats", new ThreadPoolExecutor.CallerRunsPolicy(), virtualThreads);
+    }
+
+    /**
+     * 索引同步任务可合并：变更保存在 y_note_change 中，丢弃的轮询由下一轮补上
+     */
+    @Bean(SEARCH_INDEX_EXECUTOR)
+    public ThreadPoolTaskExecutor searchIndexExecutor() {
+        return newExecutor("search-index", new ThreadPoolExecutor.DiscardPolicy(), virtualThreads);
+    }
+
+    /**
+     * 登录请求不排长队：线程池与队列都满时直接拒绝，由调用方快速返回 429。
+     * BCrypt 为纯计算，虚拟线程没有收益，始终使用平台线程
+     */
+    @Bean(LOGIN_EXECUTOR)
+    public ThreadPoolTaskExecutor loginExecutor() {
+        return newExecutor("login", new ThreadPoolExecutor.AbortPolicy(), false);
+    }
+
+    /**
+     * 上传任务队列满时由请求线程自己上传，形成背压
+     */
+    @Bean(UPLOAD_EXECUTOR)
+    public ThreadPoolTaskExecutor uploadExecutor() {
+        return newExecutor("upload", new ThreadPoolExecutor.CallerRunsPolicy(), virtualThreads);
+    }
+
+    /**
+     * 缩略图生成以图片解码与缩放为主，使用平台线程；任务不可丢弃（缩略图地址由原图推导），
+     * 队列满时由提交线程执行
+     */
+    @Bean(IMAGE_EXECUTOR)
+    public ThreadPoolTaskExecutor imageExecutor() {
+        return newExecutor("image", new ThreadPoolExecutor.CallerRunsPolicy(), false);
+    }
+
+    @Bean(ASYNC_EXECUTOR)
+    public ThreadPoolTaskExecutor asyncExecutor() {
+        return newExecutor("async", new ThreadPoolExecutor.CallerRunsPolicy(), virtualThreads);
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Async task {}.{} failed",
+                method.getDeclaringClass().getSimpleName(), method.getName(), ex);
+    }
+
+    private ThreadPoolTaskExecutor newExecutor(String pool, RejectedExecutionHandler rejectionPolicy,
+                                               boolean useVirtualThreads) {
+        AsyncProperties.Pool properties = asyncProperties.poolOf(pool);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(pool + "-");
+        executor.setVirtualThreads(useVirtualThreads);
+        executor.setCorePoolSize(properties.getCoreSize());
+        executor.setMaxPoolSize(Math.max(properties.getCoreSize(), properties.getMaxSize()));
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) properties.getKeepAlive().toSeconds());
+        executor.setRejectedExecutionHandler(countingRejections(pool, rejectionPolicy));
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.of(
+                new CurrentUserTaskDecorator(), new TimedTaskDecorator(pool, meterRegistry))));
+        // 关闭时等待已提交的任务完成
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    private RejectedExecutionHandler countingRejections(String pool, RejectedExecutionHandler delegate) {
+        return (task, executor) -> {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                registry.counter("ybook.async.rejected", "pool", pool).increment();
+            }
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+}
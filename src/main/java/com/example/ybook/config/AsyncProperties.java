@@ -0,0 +1,53 @@
+package com.example.ybook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * 异步线程池配置：每类后台任务一个有界线程池
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.async")
+public class AsyncProperties {
+
+    /**
+     * 线程池名称 -> 线程池参数，名称见 AsyncConfig 中的常量
+     */
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    public Pool poolOf(String name) {
+        return pools.getOrDefault(name, new Pool());
+    }
+
+    @Data
+    public static class Pool {
+
+        /**
+         * 核心线程数
+         */
+        private int coreSize = 2;
+
+        /**
+         * 最大线程数，队列满后才会扩容到该值
+         */
+        private int maxSize = 4;
+
+        /**
+         * 等待队列容量，队列和线程都满时按线程池的拒绝策略处理
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * 超出核心数的空闲线程存活时间
+         */
+        private Duration keepAlive = Duration.ofSeconds(60);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ybook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * 笔记计数写缓冲配置
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.counter")
+public class CounterProperties {
+
+    /**
+     * 缓冲增量写入数据库的间隔
+     */
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * 单条批量 UPDATE 包含的最大笔记数
+     */
+    private int flushBatchSize = 500;
+
+    /**
+     * 对最近有变动的笔记按交互表校正计数的间隔
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    /**
+     * 全表校正计数的 cron 表达式，"-" 表示关闭
+     */
+    private String fullReconcileCron = "0 30 4 * * *";
+
+    /**
+     * 评论数、回复数增量的合并写入窗口
+     */
+    private Duration commentStatsWindow = Duration.ofSeconds(1);
+
+    /**
+     * 按 y_comment 重新统计最近变动的笔记和根评论的间隔
+     */
+    private Duration commentStatsRecomputeInterval = Duration.ofMinutes(1);
+
+    /**
+     * 全表校正时每批处理的笔记数
+     */
+    private int reconcileBatchSize = 500;
+}
@@ -0,0 +1,53 @@
+package com.example.ybook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * 图片缩略图配置
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.image")
+public class ImageProperties {
+
+    /**
+     * 是否在上传后生成缩略图并在笔记中返回缩略图地址
+     */
+    private boolean variantsEnabled = true;
+
+    /**
+     * 列表（信息流）缩略图的最大宽度（像素）
+     */
+    private int listMaxWidth = 480;
+
+    /**
+     * 详情页图片的最大宽度（像素）
+     */
+    private int detailMaxWidth = 1440;
+
+    /**
+     * 缩略图 JPEG 压缩质量，0~1
+     */
+    private float jpegQuality = 0.82f;
+
+    /**
+     * 原图像素数上限，超过时不生成缩略图，避免解码占用过多内存
+     */
+    private long maxSourcePixels = 50_000_000L;
+
+    /**
+     * 缩略图记录的本地缓存有效期；新生成的缩略图最多滞后该时长出现在返回结果中
+     */
+    private Duration recordCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * 缩略图记录本地缓存的最大原图数
+     */
+    private long recordCacheMaxSize = 100_000;
+}
@@ -0,0 +1,63 @@
+package com.example.ybook.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * 登录限流配置
+ * </p>
+ * 每个用户名、每个客户端IP各一个令牌桶，任一桶耗尽即拒绝本次登录；
+ * 密码校验在 AsyncConfig 的 login 线程池中执行，线程池与队列都满时同样直接拒绝。
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.login")
+public class LoginProperties {
+
+    /**
+     * 是否启用按用户名/IP 的限流
+     */
+    private boolean rateLimitEnabled = true;
+
+    /**
+     * 单个用户名的登录频率，防止针对单个账户的密码猜测
+     */
+    private Bucket perUsername = new Bucket(5, Duration.ofMinutes(1));
+
+    /**
+     * 单个客户端IP的登录频率，防止撞库
+     */
+    private Bucket perIp = new Bucket(20, Duration.ofMinutes(1));
+
+    /**
+     * 令牌桶空闲多久后回收
+     */
+    private Duration bucketIdleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 最多保留的令牌桶数，超出后回收最久未使用的
+     */
+    private long maxBuckets = 100000;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        /**
+         * 桶容量，即允许的突发次数
+         */
+        private int capacity;
+
+        /**
+         * 从空桶恢复到满桶所需的时间，令牌按该速率匀速补充
+         */
+        private Duration refillPeriod;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ybook.config;
 
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -28,6 +29,21 @@ public class MinioConfig {
                 .build();
     }
 
+    @Bean
+    public MinioMultipartClient minioMultipartClient() {
+        return new MinioMultipartClient(MinioAsyncClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .build());
+    }
+
+    /**
+     * 对象的访问URL
+     */
+    public String objectUrl(String objectName) {
+        return endpoint + "/" + bucketName + "/" + objectName;
+    }
+
     public String getEndpoint() {
         return endpoint;
     }
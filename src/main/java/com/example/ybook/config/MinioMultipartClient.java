@@ -0,0 +1,101 @@
+package com.example.ybook.config;
+
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.errors.MinioException;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>
+ * MinIO 分片上传客户端
+ * </p>
+ * MinioClient 只在 putObject 内部使用分片上传，创建/上传分片/列出分片/合并等接口在 SDK 中是 protected，
+ * 这里通过继承暴露为同步方法，供可续传上传按会话逐片写入。
+ */
+public class MinioMultipartClient extends MinioAsyncClient {
+
+    private static final Multimap<String, String> NO_PARAMS = ImmutableMultimap.of();
+
+    /**
+     * 单次 ListParts 返回的最大分片数（S3 上限）
+     */
+    private static final int LIST_PARTS_PAGE_SIZE = 1000;
+
+    public MinioMultipartClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * 创建分片上传，返回 uploadId
+     */
+    public String createMultipartUpload(String bucket, String object, String contentType)
+            throws MinioException, IOException, GeneralSecurityException {
+        Multimap<String, String> headers = contentType == null
+                ? NO_PARAMS : ImmutableMultimap.of("Content-Type", contentType);
+        return await(createMultipartUploadAsync(bucket, null, object, headers, NO_PARAMS)).result().uploadId();
+    }
+
+    /**
+     * 上传一个分片，partNumber 从 1 开始；重复上传同一分片会覆盖之前的内容
+     */
+    public String uploadPart(String bucket, String object, String uploadId, int partNumber, byte[] data)
+            throws MinioException, IOException, GeneralSecurityException {
+        return await(uploadPartAsync(bucket, null, object, data, data.length, uploadId, partNumber,
+                NO_PARAMS, NO_PARAMS)).etag();
+    }
+
+    /**
+     * 列出已上传的全部分片
+     */
+    public List<Part> listParts(String bucket, String object, String uploadId)
+            throws MinioException, IOException, GeneralSecurityException {
+        List<Part> parts = new ArrayList<>();
+        Integer marker = null;
+        while (true) {
+            ListPartsResult result = await(listPartsAsync(bucket, null, object, LIST_PARTS_PAGE_SIZE, marker,
+                    uploadId, NO_PARAMS, NO_PARAMS)).result();
+            parts.addAll(result.partList());
+            if (!result.isTruncated()) {
+                return parts;
+            }
+            marker = result.nextPartNumberMarker();
+        }
+    }
+
+    /**
+     * 按分片号顺序合并为最终对象
+     */
+    public void completeMultipartUpload(String bucket, String object, String uploadId, Part[] parts)
+            throws MinioException, IOException, GeneralSecurityException {
+        await(completeMultipartUploadAsync(bucket, null, object, uploadId, parts, NO_PARAMS, NO_PARAMS));
+    }
+
+    /**
+     * 中止分片上传并释放已上传的分片
+     */
+    public void abortMultipartUpload(String bucket, String object, String uploadId)
+            throws MinioException, IOException, GeneralSecurityException {
+        await(abortMultipartUploadAsync(bucket, null, object, uploadId, NO_PARAMS, NO_PARAMS));
+    }
+
+    private <T> T await(CompletableFuture<T> future) throws MinioException, IOException, GeneralSecurityException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for MinIO", e);
+        } catch (ExecutionException e) {
+            throwEncapsulatedException(e);
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ybook.config;
+
+import com.example.ybook.common.CountMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * 分页配置：按接口配置总数统计模式
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.paging")
+public class PagingProperties {
+
+    /**
+     * 未单独配置的接口使用的统计模式
+     */
+    private CountMode defaultCountMode = CountMode.EXACT;
+
+    /**
+     * 接口标识 -> 统计模式，接口标识见 PageCountService 中的常量
+     */
+    private Map<String, CountMode> endpoints = new HashMap<>();
+
+    /**
+     * 缓存总数的有效期
+     */
+    private Duration countCacheTtl = Duration.ofSeconds(60);
+
+    /**
+     * 缓存总数的最大条目数
+     */
+    private long countCacheMaxSize = 10_000;
+
+    public CountMode countModeOf(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultCountMode);
+    }
+}
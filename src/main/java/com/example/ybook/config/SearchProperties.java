@@ -0,0 +1,80 @@
+package com.example.ybook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * 笔记全文检索配置
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.search")
+public class SearchProperties {
+
+    /**
+     * 是否启用全文索引；关闭后搜索始终走数据库 LIKE 查询
+     */
+    private boolean enabled = true;
+
+    /**
+     * 索引目录，索引可由数据库重建，无需备份
+     */
+    private String indexDir = System.getProperty("java.io.tmpdir") + "/ybook/search-index";
+
+    /**
+     * 启动时是否总是全量重建索引；为 false 时仅在索引为空时重建
+     */
+    private boolean rebuildOnStartup = false;
+
+    /**
+     * 重建索引时每批读取的笔记数
+     */
+    private int rebuildBatchSize = 500;
+
+    /**
+     * 高亮片段的最大字符数
+     */
+    private int highlightFragmentSize = 100;
+
+    /**
+     * 增量同步轮询 y_note_change 的间隔
+     */
+    private Duration changePollInterval = Duration.ofSeconds(1);
+
+    /**
+     * 增量同步每批处理的变更记录数
+     */
+    private int changeBatchSize = 200;
+
+    /**
+     * 变更ID出现缺口时等待缺口处事务提交的时间，应大于笔记写入事务的最长耗时；
+     * 写入时间取各实例的本地时钟，实例间时钟偏差也需计入
+     */
+    private Duration changeSettleDelay = Duration.ofSeconds(5);
+
+    /**
+     * 节点超过该时长未登记同步位置时不再阻止清理 y_note_change；
+     * 停机超过该时长的节点重启后全量重建索引
+     */
+    private Duration nodeTimeout = Duration.ofHours(1);
+
+    /**
+     * 同步位置没有变化时重新登记的间隔，应明显小于 nodeTimeout
+     */
+    private Duration nodeHeartbeatInterval = Duration.ofMinutes(1);
+
+    /**
+     * 清理所有存活节点都已同步的变更记录的间隔
+     */
+    private Duration changePurgeInterval = Duration.ofMinutes(1);
+
+    /**
+     * 清理时每条 DELETE 删除的最大记录数
+     */
+    private int changePurgeBatchSize = 1000;
+}
@@ -0,0 +1,41 @@
+package com.example.ybook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * 对象存储配置
+ * </p>
+ * type 选择 ObjectStorage 的实现：minio 使用 minio.* 连接；local 把对象写到本地目录，
+ * 用于没有 MinIO 的测试环境以及单独压测上传链路。
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.storage")
+public class StorageProperties {
+
+    /**
+     * 存储实现：minio / local
+     */
+    private String type = "minio";
+
+    private Local local = new Local();
+
+    @Data
+    public static class Local {
+
+        /**
+         * 对象根目录，对象名即相对路径；未完成的分片上传保存在其下的 .multipart 目录
+         */
+        private Path root = Path.of(System.getProperty("java.io.tmpdir"), "ybook", "storage");
+
+        /**
+         * 拼接对象访问地址的前缀；本地存储不提供 HTTP 访问，需要时由反向代理指向 root
+         */
+        private String baseUrl = "http://localhost:8080/storage";
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ybook.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 记录异步任务排队时间与执行时间的任务装饰器
+ * </p>
+ * 指标为 ybook.async.task.wait 与 ybook.async.task.execution，按 pool 标签区分线程池。
+ */
+public class TimedTaskDecorator implements TaskDecorator {
+
+    private final String pool;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile Timer waitTimer;
+    private volatile Timer executionTimer;
+
+    public TimedTaskDecorator(String pool, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                long finishedAt = System.nanoTime();
+                initTimers();
+                if (waitTimer != null) {
+                    waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                    executionTimer.record(finishedAt - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }
+        };
+    }
+
+    /**
+     * 线程池先于 MeterRegistry 创建，计时器在首次执行任务时再注册
+     */
+    private void initTimers() {
+        if (waitTimer != null) {
+            return;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        executionTimer = Timer.builder("ybook.async.task.execution")
+                .description("异步任务执行耗时")
+                .tag("pool", pool)
+                .register(registry);
+        waitTimer = Timer.builder("ybook.async.task.wait")
+                .description("异步任务在队列中的等待时间")
+                .tag("pool", pool)
+                .register(registry);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ybook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * <p>
+ * 文件上传配置
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.upload")
+public class UploadProperties {
+
+    /**
+     * 流式上传时每个分片的大小（MinIO 要求不小于 5MB），也是单个上传占用的内存上限
+     */
+    private DataSize partSize = DataSize.ofMegabytes(8);
+
+    /**
+     * 流式上传的单文件大小上限
+     */
+    private DataSize maxStreamSize = DataSize.ofGigabytes(2);
+
+    /**
+     * 同时进行的流式上传数，超出时直接拒绝；内存占用约为 partSize * maxConcurrentStreams
+     */
+    private int maxConcurrentStreams = 16;
+
+    /**
+     * 批量上传单次请求最多包含的文件数
+     */
+    private int maxBatchFiles = 18;
+
+    /**
+     * 批量上传时单个请求同时写入存储的文件数
+     */
+    private int batchConcurrency = 4;
+
+    /**
+     * 是否按内容 SHA-256 去重：相同内容复用已有对象，不重复写入存储
+     */
+    private boolean dedupEnabled = true;
+
+    /**
+     * 可续传上传的分片大小（MinIO 要求除最后一片外不小于 5MB）；文件过大导致超过 10000 片时按需放大
+     */
+    private DataSize chunkSize = DataSize.ofMegabytes(8);
+
+    /**
+     * 可续传上传会话的有效期，过期后未完成的分片会被清理
+     */
+    private Duration sessionTtl = Duration.ofHours(24);
+
+    /**
+     * 过期会话的清理间隔
+     */
+    private Duration sessionCleanupInterval = Duration.ofMinutes(10);
+
+    /**
+     * 每轮清理处理的会话数
+     */
+    private int sessionCleanupBatchSize = 100;
+
+    /**
+     * 直传签名的有效期
+     */
+    private Duration presignExpiry = Duration.ofMinutes(15);
+
+    /**
+     * 签名过期后仍接受完成回调的时长，需覆盖签名有效期内开始的上传耗时；之后未完成的对象由会话清理任务删除
+     */
+    private Duration presignCompleteTimeout = Duration.ofHours(1);
+
+    /**
+     * 允许直传的文件类型前缀，签名时校验；完成回调要求对象类型与签名时声明的一致
+     */
+    private List<String> presignAllowedContentTypes = List.of("image/", "video/");
+}
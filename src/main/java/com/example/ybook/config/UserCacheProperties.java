@@ -0,0 +1,34 @@
+package com.example.ybook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * 用户资料本地缓存配置
+ * </p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ybook.user-cache")
+public class UserCacheProperties {
+
+    /**
+     * 写入后的有效期；未经本服务修改的用户数据（如直接改库）最多滞后该时长
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * JWT 认证判断令牌是否已失效（禁用、删除、改密）时可接受的缓存条目最长存在时间，超过即重新查询；
+     * 失效只在处理修改的实例上立即生效，其他实例最多滞后该时长
+     */
+    private Duration revocationCheckTtl = Duration.ofSeconds(30);
+
+    /**
+     * 按ID、按用户名各自缓存的最大用户数
+     */
+    private long maxSize = 10000;
+}
@@ -5,6 +5,7 @@ import com.example.ybook.dto.ChangePasswordRequestDTO;
 import com.example.ybook.dto.LoginRequestDTO;
 import com.example.ybook.dto.LoginResponse;
 import com.example.ybook.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +20,8 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import com.example.ybook.dto.UserCreateDTO;
 import com.example.ybook.vo.UserVO;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * <p>
  * 认证相关接口
@@ -64,10 +67,24 @@ public class AuthController {
                                     value = "{\n  \"code\": 40000,\n  \"message\": \"用户名或密码错误\",\n  \"timestamp\": 1712345678901\n}"
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "登录过于频繁或登录请求过多",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "限流示例",
+                                    value = "{\n  \"code\": 42900,\n  \"message\": \"登录尝试过于频繁，请稍后重试\",\n  \"timestamp\": 1712345678901\n}"
+                            )
+                    )
             )
     })
-    public ApiResult<LoginResponse> login(@Valid @RequestBody LoginRequestDTO request) {
-        return ApiResult.success(authService.login(request));
+    public CompletableFuture<ApiResult<LoginResponse>> login(@Valid @RequestBody LoginRequestDTO request,
+                                                             HttpServletRequest httpRequest) {
+        // 密码校验在登录线程池中完成，期间不占用 Web 线程；
+        // 经可信代理转发时 getRemoteAddr 已由 Tomcat 按 X-Forwarded-For 还原（server.forward-headers-strategy）
+        return authService.login(request, httpRequest.getRemoteAddr()).thenApply(ApiResult::success);
     }
 
     @PostMapping("/register")
@@ -1,6 +1,8 @@
 package com.example.ybook.controller;
 
 import com.example.ybook.common.ApiResult;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.PageResult;
 import com.example.ybook.dto.CommentCreateDTO;
 import com.example.ybook.dto.CommentUpdateDTO;
@@ -70,8 +72,19 @@ public class CommentController {
     public ApiResult<PageResult<CommentVO>> getRootCommentsByNoteId(
             @Parameter(description = "笔记ID", required = true) @PathVariable Long noteId,
             @Parameter(description = "当前页码", example = "1") @RequestParam(defaultValue = "1") int current,
+            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "总数统计模式，不传时使用接口配置") @RequestParam(required = false) CountMode countMode) {
+        PageResult<CommentVO> result = commentService.getRootCommentsByNoteId(noteId, current, size, countMode);
+        return ApiResult.success(result);
+    }
+    
+    @GetMapping("/note/{noteId}/root/cursor")
+    @Operation(summary = "游标获取笔记根评论列表", description = "基于游标获取指定笔记的根评论列表，不返回总数")
+    public ApiResult<CursorResult<CommentVO>> getRootCommentsByNoteIdCursor(
+            @Parameter(description = "笔记ID", required = true) @PathVariable Long noteId,
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
             @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") int size) {
-        PageResult<CommentVO> result = commentService.getRootCommentsByNoteId(noteId, current, size);
+        CursorResult<CommentVO> result = commentService.getRootCommentsByNoteIdCursor(noteId, cursor, size);
         return ApiResult.success(result);
     }
     
@@ -85,6 +98,16 @@ public class CommentController {
         return ApiResult.success(result);
     }
     
+    @GetMapping("/{rootCommentId}/replies/cursor")
+    @Operation(summary = "游标获取评论回复列表", description = "基于游标获取指定根评论的所有回复（扁平化显示），不返回总数")
+    public ApiResult<CursorResult<CommentVO>> getRepliesByRootCommentIdCursor(
+            @Parameter(description = "根评论ID", required = true) @PathVariable Long rootCommentId,
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int size) {
+        CursorResult<CommentVO> result = commentService.getRepliesByRootCommentIdCursor(rootCommentId, cursor, size);
+        return ApiResult.success(result);
+    }
+    
     @GetMapping("/note/{noteId}/stats")
     @Operation(summary = "获取笔记评论统计", description = "获取指定笔记的评论统计信息")
     public ApiResult<CommentListVO> getCommentStatsByNoteId(
@@ -1,8 +1,16 @@
 package com.example.ybook.controller;
 
+import com.example.ybook.common.ApiCode;
 import com.example.ybook.common.ApiResult;
+import com.example.ybook.dto.PresignCompleteDTO;
+import com.example.ybook.dto.PresignUploadDTO;
+import com.example.ybook.dto.UploadSessionInitDTO;
+import com.example.ybook.exception.BizException;
 import com.example.ybook.service.FileUploadService;
+import com.example.ybook.vo.FileUploadResultVO;
 import com.example.ybook.vo.FileUploadVO;
+import com.example.ybook.vo.PresignedUploadVO;
+import com.example.ybook.vo.UploadSessionVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,11 +18,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * 文件上传控制器
  *
@@ -34,7 +47,7 @@ public class FileUploadController {
     }
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @Operation(summary = "上传文件", description = "上传文件到MinIO存储（无需认证）")
+    @Operation(summary = "上传文件", description = "上传文件到MinIO存储，图片附带宽高并在后台生成缩略图（无需认证）")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "上传成功",
                     content = @Content(schema = @Schema(implementation = FileUploadVO.class))),
@@ -47,15 +60,145 @@ public class FileUploadController {
 
         log.info("开始上传文件: {}, 大小: {} bytes", file.getOriginalFilename(), file.getSize());
 
-        String fileUrl = fileUploadService.uploadFile(file);
+        return ApiResult.success(fileUploadService.upload(file));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "批量上传文件",
+            description = "一次上传多个文件，服务端并行写入MinIO；按请求顺序返回每个文件的结果，图片附带宽高（无需认证）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "处理完成，各文件是否成功见 success 字段"),
+            @ApiResponse(responseCode = "400", description = "请求参数错误或文件数超出限制"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ApiResult<List<FileUploadResultVO>> uploadFiles(
+            @Parameter(description = "上传的文件，可重复多次", required = true)
+            @RequestParam("files") List<MultipartFile> files) {
+
+        log.info("开始批量上传文件: {} 个", files.size());
+        return ApiResult.success(fileUploadService.uploadFiles(files));
+    }
+
+    @PutMapping("/stream")
+    @Operation(summary = "流式上传文件",
+            description = "请求体即文件内容，Content-Type 为文件类型；服务端按分片直接写入MinIO，不在本地落盘，适合大视频（需要认证）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "上传成功",
+                    content = @Content(schema = @Schema(implementation = FileUploadVO.class))),
+            @ApiResponse(responseCode = "400", description = "请求参数错误"),
+            @ApiResponse(responseCode = "401", description = "未登录"),
+            @ApiResponse(responseCode = "429", description = "同时上传的文件过多"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ApiResult<FileUploadVO> uploadStream(
+            @Parameter(description = "原始文件名", required = true, example = "video.mp4")
+            @RequestParam("filename") String filename,
+            @Parameter(description = "文件内容的 SHA-256（十六进制），可选；与实际内容不一致时拒绝上传")
+            @RequestParam(value = "sha256", required = false) String sha256,
+            HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        // 表单类型的请求体会被 FormContentFilter 提前读取
+        if (contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            throw new BizException(ApiCode.FILE_TYPE_NOT_SUPPORTED, "请使用文件的实际类型作为 Content-Type");
+        }
+        if (contentType == null) {
+            contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+
+        log.info("开始流式上传文件: {}, 声明大小: {} bytes", filename, request.getContentLengthLong());
+        return ApiResult.success(fileUploadService.uploadStream(
+                request.getInputStream(), filename, contentType, request.getContentLengthLong(), sha256));
+    }
+
+    @PostMapping("/sessions")
+    @Operation(summary = "创建可续传上传会话",
+            description = "返回会话ID、分片大小与分片数；之后按序号上传分片，断线后查询会话补传缺失分片，全部上传后调用完成接口（需要认证，会话仅本人可续传）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "创建成功",
+                    content = @Content(schema = @Schema(implementation = UploadSessionVO.class))),
+            @ApiResponse(responseCode = "400", description = "请求参数错误"),
+            @ApiResponse(responseCode = "401", description = "未登录"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ApiResult<UploadSessionVO> createUploadSession(@Valid @RequestBody UploadSessionInitDTO dto) {
+        log.info("创建上传会话: {}, 大小: {} bytes", dto.getFilename(), dto.getTotalSize());
+        return ApiResult.success(fileUploadService.createUploadSession(dto));
+    }
+
+    @PutMapping("/sessions/{sessionId}/chunks/{index}")
+    @Operation(summary = "上传分片",
+            description = "请求体即分片内容，除最后一片外大小必须等于 chunkSize；同一分片可重复上传（需要认证）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "上传成功"),
+            @ApiResponse(responseCode = "400", description = "分片序号或大小不正确"),
+            @ApiResponse(responseCode = "404", description = "会话不存在或已过期"),
+            @ApiResponse(responseCode = "429", description = "同时上传的文件过多"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ApiResult<Void> uploadChunk(
+            @Parameter(description = "会话ID", required = true) @PathVariable String sessionId,
+            @Parameter(description = "分片序号，从0开始", required = true) @PathVariable int index,
+            HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            throw new BizException(ApiCode.FILE_TYPE_NOT_SUPPORTED, "请使用 application/octet-stream 作为 Content-Type");
+        }
+        fileUploadService.uploadChunk(sessionId, index, request.getInputStream(), request.getContentLengthLong());
+        return ApiResult.success();
+    }
 
-        FileUploadVO uploadVO = FileUploadVO.builder()
-                .url(fileUrl)
-                .originalFileName(file.getOriginalFilename())
-                .size(file.getSize())
-                .contentType(file.getContentType())
-                .build();
+    @GetMapping("/sessions/{sessionId}")
+    @Operation(summary = "查询上传会话", description = "返回尚未上传的分片序号，用于断线后续传（需要认证）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功",
+                    content = @Content(schema = @Schema(implementation = UploadSessionVO.class))),
+            @ApiResponse(responseCode = "404", description = "会话不存在或已过期"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ApiResult<UploadSessionVO> getUploadSession(
+            @Parameter(description = "会话ID", required = true) @PathVariable String sessionId) {
+        return ApiResult.success(fileUploadService.getUploadSession(sessionId));
+    }
 
-        return ApiResult.success(uploadVO);
+    @PostMapping("/sessions/{sessionId}/complete")
+    @Operation(summary = "完成上传会话", description = "合并全部分片为最终文件，重复调用返回同一结果（需要认证）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "合并成功",
+                    content = @Content(schema = @Schema(implementation = FileUploadVO.class))),
+            @ApiResponse(responseCode = "404", description = "会话不存在或已过期"),
+            @ApiResponse(responseCode = "409", description = "仍有分片未上传"),
+            @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ApiResult<FileUploadVO> completeUploadSession(
+            @Parameter(description = "会话ID", required = true) @PathVariable String sessionId) {
+        return ApiResult.success(fileUploadService.completeUploadSession(sessionId));
+    }
+
+    @PostMapping("/presign")
+    @Operation(summary = "申请直传签名",
+            description = "返回预签名 PUT 地址与 POST 表单策略，客户端直接上传到MinIO，文件内容不经过应用服务器；签名记录在完成回调截止前有效，过期未完成的对象会被清理（需要认证）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "签发成功",
+                    content = @Content(schema = @Schema(implementation = PresignedUploadVO.class))),
+            @ApiResponse(responseCode = "400", description = "请求参数错误"),
+            @ApiResponse(responseCode = "401", description = "未登录"),
+            @ApiResponse(responseCode = "500", description = "文件类型不允许或服务器内部错误")
+    })
+    public ApiResult<PresignedUploadVO> presignUpload(@Valid @RequestBody PresignUploadDTO dto) {
+        return ApiResult.success(fileUploadService.presignUpload(dto));
+    }
+
+    @PostMapping("/presign/complete")
+    @Operation(summary = "直传完成回调",
+            description = "只接受本人签发、未过期的对象；校验大小、类型与签名时声明的一致（不一致时删除对象），返回文件信息，图片附带宽高；重复调用不会重复处理（需要认证）")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "校验通过",
+                    content = @Content(schema = @Schema(implementation = FileUploadVO.class))),
+            @ApiResponse(responseCode = "400", description = "对象名不正确"),
+            @ApiResponse(responseCode = "401", description = "未登录"),
+            @ApiResponse(responseCode = "500", description = "文件未上传、不符合要求或服务器内部错误")
+    })
+    public ApiResult<FileUploadVO> completePresignedUpload(@Valid @RequestBody PresignCompleteDTO dto) {
+        return ApiResult.success(fileUploadService.completePresignedUpload(dto));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.example.ybook.controller;
 
 import java.util.List;
 
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,12 +14,17 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.common.ApiCode;
 import com.example.ybook.common.ApiResult;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.PageResult;
 import com.example.ybook.dto.NoteCreateDTO;
 import com.example.ybook.dto.NoteUpdateDTO;
 import com.example.ybook.entity.NoteEntity;
+import com.example.ybook.exception.BizException;
 import com.example.ybook.service.NoteService;
+import com.example.ybook.service.PageCountService;
 import com.example.ybook.vo.NoteVO;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -43,6 +49,9 @@ public class NoteController {
     @Resource
     private NoteService noteService;
     
+    @Resource
+    private PageCountService pageCountService;
+    
     @GetMapping
     @Operation(summary = "获取我的笔记列表", description = "获取当前用户的所有笔记")
     @ApiResponses({
@@ -62,14 +71,28 @@ public class NoteController {
     public ApiResult<PageResult<NoteVO>> pageMyNotes(
             @Parameter(description = "当前页码", example = "1") @RequestParam(defaultValue = "1") long current,
             @Parameter(description = "每页数量", example = "10") @RequestParam(defaultValue = "10") long size,
+            @Parameter(description = "总数统计模式，不传时使用接口配置") @RequestParam(required = false) CountMode countMode,
             HttpServletRequest request) {
-        Page<NoteEntity> page = new Page<>(current, size);
+        Page<NoteEntity> page = pageCountService.newPage(PageCountService.NOTES_PAGE, countMode, current, size);
         return ApiResult.success(noteService.pageNotesByUserId(page));
     }
     
+    @GetMapping("/cursor")
+    @Operation(summary = "游标分页获取我的笔记列表", description = "基于游标获取当前用户的笔记列表，不返回总数，适合下拉加载")
+    @ApiResponses({
+            @ApiResponse(responseCode = "401", description = "未认证或令牌无效"),
+            @ApiResponse(responseCode = "403", description = "无权限")
+    })
+    public ApiResult<CursorResult<NoteVO>> cursorMyNotes(
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量", example = "10") @RequestParam(defaultValue = "10") int size) {
+        return ApiResult.success(noteService.cursorNotesByUserId(cursor, size));
+    }
+    
     @GetMapping("/search")
     @Operation(summary = "搜索笔记", description = "根据关键词搜索笔记标题和内容")
     @ApiResponses({
+            @ApiResponse(responseCode = "400", description = "搜索关键词为空"),
             @ApiResponse(responseCode = "401", description = "未认证或令牌无效"),
             @ApiResponse(responseCode = "403", description = "无权限")
     })
@@ -77,8 +100,13 @@ public class NoteController {
             @Parameter(description = "搜索关键词", example = "Spring Boot") @RequestParam String keyword,
             @Parameter(description = "当前页码", example = "1") @RequestParam(defaultValue = "1") long current,
             @Parameter(description = "每页数量", example = "10") @RequestParam(defaultValue = "10") long size,
+            @Parameter(description = "总数统计模式，不传时使用接口配置") @RequestParam(required = false) CountMode countMode,
             HttpServletRequest request) {
-        Page<NoteEntity> page = new Page<>(current, size);
+        // 索引与数据库两条检索路径对空关键词的处理一致：都视为参数错误
+        if (!StringUtils.hasText(keyword)) {
+            throw new BizException(ApiCode.PARAM_INVALID, "搜索关键词不能为空");
+        }
+        Page<NoteEntity> page = pageCountService.newPage(PageCountService.NOTES_SEARCH, countMode, current, size);
         return ApiResult.success(noteService.searchNotes(page, keyword));
     }
     
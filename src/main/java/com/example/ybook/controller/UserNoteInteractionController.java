@@ -1,7 +1,8 @@
 package com.example.ybook.controller;
 
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.ybook.common.ApiResult;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.PageResult;
 import com.example.ybook.dto.InteractionStatusDTO;
 import com.example.ybook.service.UserNoteInteractionService;
@@ -84,35 +85,35 @@ public class UserNoteInteractionController {
     @GetMapping("/favorites")
     public ApiResult<PageResult<NoteVO>> getUserFavoriteNotes(
             @Parameter(description = "当前页码", example = "1") @RequestParam(defaultValue = "1") long current,
-            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") long size) {
-        Page<NoteVO> page = userNoteInteractionService.getUserFavoriteNotes(null, (int) current, (int) size);
-        
-        PageResult<NoteVO> result = PageResult.<NoteVO>builder()
-                .current(page.getCurrent())
-                .size(page.getSize())
-                .total(page.getTotal())
-                .pages(page.getPages())
-                .records(page.getRecords())
-                .build();
-                
+            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") long size,
+            @Parameter(description = "总数统计模式，不传时使用接口配置") @RequestParam(required = false) CountMode countMode) {
+        PageResult<NoteVO> result = userNoteInteractionService.getUserFavoriteNotes(null, (int) current, (int) size, countMode);
         return ApiResult.success(result);
     }
 
+    @Operation(summary = "游标获取用户收藏的笔记列表", description = "基于游标查询当前用户收藏的笔记，不返回总数")
+    @GetMapping("/favorites/cursor")
+    public ApiResult<CursorResult<NoteVO>> getUserFavoriteNotesCursor(
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") int size) {
+        return ApiResult.success(userNoteInteractionService.getUserFavoriteNotesCursor(null, cursor, size));
+    }
+
     @Operation(summary = "获取用户点赞的笔记列表", description = "分页查询当前用户点赞的笔记")
     @GetMapping("/likes")
     public ApiResult<PageResult<NoteVO>> getUserLikedNotes(
             @Parameter(description = "当前页码", example = "1") @RequestParam(defaultValue = "1") long current,
-            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") long size) {
-        Page<NoteVO> page = userNoteInteractionService.getUserLikedNotes(null, (int) current, (int) size);
-        
-        PageResult<NoteVO> result = PageResult.<NoteVO>builder()
-                .current(page.getCurrent())
-                .size(page.getSize())
-                .total(page.getTotal())
-                .pages(page.getPages())
-                .records(page.getRecords())
-                .build();
-                
+            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") long size,
+            @Parameter(description = "总数统计模式，不传时使用接口配置") @RequestParam(required = false) CountMode countMode) {
+        PageResult<NoteVO> result = userNoteInteractionService.getUserLikedNotes(null, (int) current, (int) size, countMode);
         return ApiResult.success(result);
     }
+
+    @Operation(summary = "游标获取用户点赞的笔记列表", description = "基于游标查询当前用户点赞的笔记，不返回总数")
+    @GetMapping("/likes/cursor")
+    public ApiResult<CursorResult<NoteVO>> getUserLikedNotesCursor(
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") int size) {
+        return ApiResult.success(userNoteInteractionService.getUserLikedNotesCursor(null, cursor, size));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.example.ybook.counter;
+
+import com.example.ybook.config.AsyncConfig;
+import com.example.ybook.mapper.CommentMapper;
+import com.example.ybook.mapper.NoteMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 评论统计聚合器：维护笔记的评论数和根评论的回复数
+ * </p>
+ * 发表、删除评论只在事务提交后累加 ±1 增量，不在请求线程中执行任何统计 SQL；
+ * 增量每个窗口（ybook.counter.comment-stats-window）合并写入一次，同一笔记、同一根评论的一批评论只产生一次更新。
+ * 窗口内有变动的笔记和根评论会在 ybook.counter.comment-stats-recompute-interval 时按 y_comment 重新统计一次，
+ * 修正进程退出丢失的增量。
+ */
+@Slf4j
+@Component
+public class CommentStatsAggregator {
+
+    /**
+     * 单条批量 UPDATE 包含的最大ID数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private final NoteMapper noteMapper;
+    private final CommentMapper commentMapper;
+
+    private final DeltaBuffer noteCommentDeltas = new DeltaBuffer();
+    private final DeltaBuffer rootReplyDeltas = new DeltaBuffer();
+    private final Set<Long> dirtyNoteIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyRootCommentIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 窗口写入、重新统计前的写入与停机写入共用，失败回填的增量不会与另一轮写入交错
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public CommentStatsAggregator(NoteMapper noteMapper, CommentMapper commentMapper) {
+        this.noteMapper = noteMapper;
+        this.commentMapper = commentMapper;
+    }
+
+    /**
+     * 记录新增一条评论；处于事务中时在提交后生效
+     *
+     * @param rootCommentId 根评论ID，顶级评论为 null
+     */
+    public void commentCreated(Long noteId, Long rootCommentId) {
+        record(noteId, rootCommentId, 1);
+    }
+
+    /**
+     * 记录删除一条评论；处于事务中时在提交后生效
+     *
+     * @param rootCommentId 根评论ID，顶级评论为 null
+     */
+    public void commentDeleted(Long noteId, Long rootCommentId) {
+        record(noteId, rootCommentId, -1);
+    }
+
+    @Async(AsyncConfig.COMMENT_STATS_EXECUTOR)
+    @Scheduled(fixedDelayString = "${ybook.counter.comment-stats-window:1s}")
+    public void flushWindow() {
+        flush();
+    }
+
+    @Async(AsyncConfig.COMMENT_STATS_EXECUTOR)
+    @Scheduled(fixedDelayString = "${ybook.counter.comment-stats-recompute-interval:1m}",
+            initialDelayString = "${ybook.counter.comment-stats-recompute-interval:1m}")
+    public void recomputeDirty() {
+        // 先写入已有增量，再跳过仍有未写入增量的键，避免重算结果与增量重复
+        flush();
+        List<Long> noteIds = drainSettled(dirtyNoteIds, noteCommentDeltas);
+        List<Long> rootCommentIds = drainSettled(dirtyRootCommentIds, rootReplyDeltas);
+        int corrected = 0;
+        for (List<Long> batch : partition(noteIds)) {
+            corrected += noteMapper.recomputeCommentCounts(batch);
+        }
+        for (List<Long> batch : partition(rootCommentIds)) {
+            corrected += commentMapper.recomputeReplyCounts(batch);
+        }
+        if (corrected > 0) {
+            log.info("Corrected comment stats for {} notes/root comments", corrected);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void record(Long noteId, Long rootCommentId, int delta) {
+        Runnable apply = () -> {
+            noteCommentDeltas.add(noteId, delta);
+            if (rootCommentId != null) {
+                rootReplyDeltas.add(rootCommentId, delta);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private void flush() {
+        flushLock.lock();
+        try {
+            flush(noteCommentDeltas, dirtyNoteIds, noteMapper::addCommentCountDeltas, "note comment counts");
+            flush(rootReplyDeltas, dirtyRootCommentIds, commentMapper::addReplyCountDeltas, "root comment reply counts");
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flush(DeltaBuffer buffer, Set<Long> dirtyIds, Consumer<List<CountDelta>> writer, String name) {
+        Map<Long, Long> drained = buffer.drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+        List<CountDelta> deltas = drained.entrySet().stream()
+                .map(entry -> new CountDelta(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        for (List<CountDelta> batch : partition(deltas)) {
+            try {
+                writer.accept(batch);
+                batch.forEach(delta -> dirtyIds.add(delta.getId()));
+            } catch (RuntimeException e) {
+                // 写入失败的增量放回缓冲，下个窗口重试
+                log.warn("Failed to flush {} for {} ids, will retry", name, batch.size(), e);
+                batch.forEach(delta -> buffer.add(delta.getId(), delta.getDelta()));
+            }
+        }
+    }
+
+    private static <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += BATCH_SIZE) {
+            batches.add(list.subList(from, Math.min(from + BATCH_SIZE, list.size())));
+        }
+        return batches;
+    }
+
+    private static List<Long> drainSettled(Set<Long> dirtyIds, DeltaBuffer buffer) {
+        List<Long> settled = new ArrayList<>();
+        for (Long id : new HashSet<>(dirtyIds)) {
+            if (!buffer.hasPending(id)) {
+                dirtyIds.remove(id);
+                settled.add(id);
+            }
+        }
+        return settled;
+    }
+}
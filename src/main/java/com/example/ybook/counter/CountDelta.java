@@ -0,0 +1,18 @@
+package com.example.ybook.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * <p>
+ * 单个计数的增量，作为批量 UPDATE 的参数
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+public class CountDelta {
+
+    private Long id;
+
+    private long delta;
+}
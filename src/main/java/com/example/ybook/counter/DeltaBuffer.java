@@ -0,0 +1,65 @@
+package com.example.ybook.counter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * 按ID累加计数增量的内存缓冲
+ * </p>
+ * 累加与移除空条目都在 ConcurrentHashMap 对该ID的 compute 中进行，二者互斥，
+ * 累加不会落到已被移除的条目上；{@link #drain()} 只扣除已读取的部分，读取后并发写入的增量保留到下一轮，不会丢失。
+ */
+public class DeltaBuffer {
+
+    private final ConcurrentHashMap<Long, AtomicLong> deltas = new ConcurrentHashMap<>();
+
+    public void add(Long id, long delta) {
+        if (delta != 0) {
+            deltas.compute(id, (key, value) -> {
+                AtomicLong counter = value == null ? new AtomicLong() : value;
+                counter.addAndGet(delta);
+                return counter;
+            });
+        }
+    }
+
+    /**
+     * 是否有尚未取出的增量
+     */
+    public boolean hasPending(Long id) {
+        AtomicLong counter = deltas.get(id);
+        return counter != null && counter.get() != 0;
+    }
+
+    /**
+     * 缓冲中的ID数（包括已清零、待下一轮移除的条目）
+     */
+    public int size() {
+        return deltas.size();
+    }
+
+    /**
+     * 取出所有非零增量并从缓冲中扣除；上一轮已清零的条目在本轮移除，避免缓冲无限增长
+     *
+     * @return ID -> 增量，按遍历顺序
+     */
+    public Map<Long, Long> drain() {
+        Map<Long, Long> drained = new LinkedHashMap<>();
+        for (Map.Entry<Long, AtomicLong> entry : deltas.entrySet()) {
+            Long id = entry.getKey();
+            AtomicLong counter = entry.getValue();
+            long delta = counter.get();
+            if (delta == 0) {
+                // 与 add 互斥地检查并移除，移除前到达的增量会让条目保留
+                deltas.computeIfPresent(id, (key, value) -> value.get() == 0 ? null : value);
+                continue;
+            }
+            counter.addAndGet(-delta);
+            drained.put(id, delta);
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ybook.counter;
+
+/**
+ * <p>
+ * 由写缓冲批量维护的笔记计数字段
+ * </p>
+ */
+public enum NoteCounter {
+
+    /**
+     * 点赞数，对应 y_note.like_count
+     */
+    LIKE,
+
+    /**
+     * 收藏数，对应 y_note.collect_count
+     */
+    COLLECT
+}
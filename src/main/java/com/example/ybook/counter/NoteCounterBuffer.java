@@ -0,0 +1,160 @@
+package com.example.ybook.counter;
+
+import com.example.ybook.config.CounterProperties;
+import com.example.ybook.mapper.NoteMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * 笔记计数写缓冲
+ * </p>
+ * 点赞、收藏等计数变化先以增量累加在内存中（见 {@link DeltaBuffer}），
+ * 再定时合并为一条多行 UPDATE 写入 y_note。增量在事务提交后才进入缓冲，回滚的操作不会计数。
+ * 进程异常退出时尚未写入的增量会丢失，由 {@link NoteCounterReconciler} 按交互表校正。
+ */
+@Slf4j
+@Component
+public class NoteCounterBuffer {
+
+    private final NoteMapper noteMapper;
+    private final CounterProperties counterProperties;
+    private final Timer flushTimer;
+
+    private final Map<NoteCounter, DeltaBuffer> deltas = new EnumMap<>(NoteCounter.class);
+
+    /**
+     * 自上次校正以来写入过增量的笔记
+     */
+    private final Set<Long> flushedNoteIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 定时写入与停机前写入不并发执行，同一笔记的增量不会被两轮写入交错提交
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public NoteCounterBuffer(NoteMapper noteMapper, CounterProperties counterProperties, MeterRegistry meterRegistry) {
+        this.noteMapper = noteMapper;
+        this.counterProperties = counterProperties;
+        for (NoteCounter counter : NoteCounter.values()) {
+            deltas.put(counter, new DeltaBuffer());
+        }
+        this.flushTimer = Timer.builder("ybook.counter.flush")
+                .description("笔记计数缓冲写入数据库的耗时")
+                .register(meterRegistry);
+        Gauge.builder("ybook.counter.buffered", deltas,
+                        map -> map.values().stream().mapToInt(DeltaBuffer::size).sum())
+                .description("缓冲中有计数增量的笔记数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 累加计数增量；处于事务中时在提交后生效
+     */
+    public void add(NoteCounter counter, Long noteId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(counter, noteId, delta);
+                }
+            });
+        } else {
+            addNow(counter, noteId, delta);
+        }
+    }
+
+    /**
+     * 笔记是否有尚未写入数据库的增量
+     */
+    public boolean hasPending(Long noteId) {
+        return deltas.values().stream().anyMatch(buffer -> buffer.hasPending(noteId));
+    }
+
+    /**
+     * 取出并清空自上次调用以来写入过增量的笔记ID
+     */
+    public Set<Long> drainFlushedNoteIds() {
+        Set<Long> noteIds = new HashSet<>(flushedNoteIds);
+        flushedNoteIds.removeAll(noteIds);
+        return noteIds;
+    }
+
+    @Scheduled(fixedDelayString = "${ybook.counter.flush-interval:500ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<NoteCounterDelta> pending = drain();
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushTimer.record(() -> {
+            int batchSize = counterProperties.getFlushBatchSize();
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<NoteCounterDelta> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                try {
+                    noteMapper.addCounterDeltas(batch);
+                    batch.forEach(delta -> flushedNoteIds.add(delta.getNoteId()));
+                } catch (RuntimeException e) {
+                    // 写入失败的增量放回缓冲，下次继续重试
+                    log.warn("Failed to flush counters for {} notes, will retry", pending.size() - from, e);
+                    pending.subList(from, pending.size()).forEach(this::restore);
+                    return;
+                }
+            }
+            log.debug("Flushed counters for {} notes", pending.size());
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void addNow(NoteCounter counter, Long noteId, long delta) {
+        deltas.get(counter).add(noteId, delta);
+    }
+
+    /**
+     * 取出各计数的增量，按笔记合并为批量 UPDATE 的参数
+     */
+    private List<NoteCounterDelta> drain() {
+        Map<Long, NoteCounterDelta> pending = new LinkedHashMap<>();
+        deltas.forEach((counter, buffer) -> buffer.drain().forEach((noteId, delta) ->
+                pending.computeIfAbsent(noteId, NoteCounterDelta::new).add(counter, delta)));
+        return new ArrayList<>(pending.values());
+    }
+
+    private void restore(NoteCounterDelta delta) {
+        for (NoteCounter counter : NoteCounter.values()) {
+            addNow(counter, delta.getNoteId(), delta.get(counter));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.ybook.counter;
+
+import lombok.Data;
+
+/**
+ * <p>
+ * 单条笔记待写入的计数增量，作为批量 UPDATE 的参数
+ * </p>
+ */
+@Data
+public class NoteCounterDelta {
+
+    private Long noteId;
+
+    private long likeDelta;
+
+    private long collectDelta;
+
+    public NoteCounterDelta(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public void add(NoteCounter counter, long delta) {
+        switch (counter) {
+            case LIKE -> likeDelta += delta;
+            case COLLECT -> collectDelta += delta;
+        }
+    }
+
+    public long get(NoteCounter counter) {
+        return switch (counter) {
+            case LIKE -> likeDelta;
+            case COLLECT -> collectDelta;
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.ybook.counter;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.ybook.config.AsyncConfig;
+import com.example.ybook.config.CounterProperties;
+import com.example.ybook.entity.NoteEntity;
+import com.example.ybook.mapper.NoteMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 笔记计数校正任务
+ * </p>
+ * 以 y_user_note_interaction 为准重算点赞数、收藏数，修正缓冲丢失或并发造成的偏差：
+ * 定期校正最近写入过增量的笔记，每天按 cron 全表校正一次。仍有未写入增量的笔记本轮跳过，
+ * 校正期间恰好发生的点赞可能被重复计入，会在下一轮校正时修正。
+ * 校正在 counters 线程池中执行，同一时间只运行一轮，重叠的触发直接跳过。
+ */
+@Slf4j
+@Component
+public class NoteCounterReconciler {
+
+    private final NoteMapper noteMapper;
+    private final NoteCounterBuffer noteCounterBuffer;
+    private final CounterProperties counterProperties;
+    private final Counter correctedCounter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NoteCounterReconciler(NoteMapper noteMapper,
+                                 NoteCounterBuffer noteCounterBuffer,
+                                 CounterProperties counterProperties,
+                                 MeterRegistry meterRegistry) {
+        this.noteMapper = noteMapper;
+        this.noteCounterBuffer = noteCounterBuffer;
+        this.counterProperties = counterProperties;
+        this.correctedCounter = Counter.builder("ybook.counter.reconciled")
+                .description("校正时发现计数偏差并修正的笔记数")
+                .register(meterRegistry);
+    }
+
+    @Async(AsyncConfig.COUNTERS_EXECUTOR)
+    @Scheduled(fixedDelayString = "${ybook.counter.reconcile-interval:5m}",
+            initialDelayString = "${ybook.counter.reconcile-interval:5m}")
+    public void reconcileRecent() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int corrected = reconcile(noteCounterBuffer.drainFlushedNoteIds());
+            if (corrected > 0) {
+                log.info("Corrected counters for {} recently updated notes", corrected);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Async(AsyncConfig.COUNTERS_EXECUTOR)
+    @Scheduled(cron = "${ybook.counter.full-reconcile-cron:0 30 4 * * *}")
+    public void reconcileAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Counter reconciliation already running, skip full reconciliation");
+            return;
+        }
+        try {
+            reconcileAllNotes();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void reconcileAllNotes() {
+        int batchSize = counterProperties.getReconcileBatchSize();
+        long lastId = 0;
+        int corrected = 0;
+        List<Long> noteIds;
+        do {
+            noteIds = noteMapper.selectList(new LambdaQueryWrapper<NoteEntity>()
+                            .select(NoteEntity::getId)
+                            .gt(NoteEntity::getId, lastId)
+                            .orderByAsc(NoteEntity::getId)
+                            .last("LIMIT " + batchSize))
+                    .stream()
+                    .map(NoteEntity::getId)
+                    .collect(Collectors.toList());
+            if (!noteIds.isEmpty()) {
+                corrected += reconcile(noteIds);
+                lastId = noteIds.get(noteIds.size() - 1);
+            }
+        } while (noteIds.size() == batchSize);
+        log.info("Full counter reconciliation finished, corrected {} notes", corrected);
+    }
+
+    private int reconcile(Collection<Long> noteIds) {
+        if (noteIds.isEmpty()) {
+            return 0;
+        }
+        // 先写入已有增量，再跳过仍在缓冲中的笔记，避免把未写入的增量重复计入
+        noteCounterBuffer.flush();
+        List<Long> settled = noteIds.stream()
+                .filter(noteId -> !noteCounterBuffer.hasPending(noteId))
+                .collect(Collectors.toList());
+
+        int batchSize = counterProperties.getReconcileBatchSize();
+        int corrected = 0;
+        for (int from = 0; from < settled.size(); from += batchSize) {
+            corrected += noteMapper.reconcileInteractionCounts(
+                    settled.subList(from, Math.min(from + batchSize, settled.size())));
+        }
+        correctedCounter.increment(corrected);
+        return corrected;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.ybook.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * 直传完成回调 DTO
+ */
+@Data
+@Schema(name = "PresignCompleteDTO", description = "直传完成回调数据传输对象")
+public class PresignCompleteDTO {
+
+    @Schema(description = "签名时分配的对象名", example = "2025/09/07/3f0c6a1e-9b5d-4c7e-8a2b-1d0f6e4c3b2a.jpg",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "对象名不能为空")
+    private String objectName;
+
+    @Schema(description = "原始文件名", example = "photo.jpg")
+    private String originalFilename;
+}
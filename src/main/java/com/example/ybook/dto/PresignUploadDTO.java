@@ -0,0 +1,28 @@
+package com.example.ybook.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * 直传签名申请 DTO
+ */
+@Data
+@Schema(name = "PresignUploadDTO", description = "直传签名申请数据传输对象")
+public class PresignUploadDTO {
+
+    @Schema(description = "原始文件名", example = "photo.jpg", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "文件名不能为空")
+    private String filename;
+
+    @Schema(description = "文件类型", example = "image/jpeg", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "文件类型不能为空")
+    private String contentType;
+
+    @Schema(description = "文件大小（字节）", example = "2097152", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long size;
+}
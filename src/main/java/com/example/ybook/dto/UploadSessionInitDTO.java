@@ -0,0 +1,27 @@
+package com.example.ybook.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * 可续传上传会话创建 DTO
+ */
+@Data
+@Schema(name = "UploadSessionInitDTO", description = "可续传上传会话创建数据传输对象")
+public class UploadSessionInitDTO {
+
+    @Schema(description = "原始文件名", example = "video.mp4", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "文件名不能为空")
+    private String filename;
+
+    @Schema(description = "文件类型", example = "video/mp4")
+    private String contentType;
+
+    @Schema(description = "文件总大小（字节）", example = "104857600", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long totalSize;
+}
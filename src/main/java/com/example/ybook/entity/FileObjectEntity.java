@@ -0,0 +1,42 @@
+package com.example.ybook.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件内容索引实体：按内容哈希定位已存储的对象，相同内容只存一份
+ */
+@Data
+@TableName("y_file_object")
+public class FileObjectEntity {
+
+    /**
+     * 文件内容的 SHA-256（小写十六进制）
+     */
+    @TableId(type = IdType.INPUT)
+    private String sha256;
+
+    /**
+     * 存储该内容的对象名
+     */
+    private String objectName;
+
+    /**
+     * 文件大小（字节）
+     */
+    private Long size;
+
+    /**
+     * 首次上传时的文件类型
+     */
+    private String contentType;
+
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
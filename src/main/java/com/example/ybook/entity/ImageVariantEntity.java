@@ -0,0 +1,32 @@
+package com.example.ybook.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 图片缩略图记录实体：原图对象实际生成成功的缩略图规格，只有记录中的规格才会返回缩略图地址
+ */
+@Data
+@TableName("y_image_variant")
+public class ImageVariantEntity {
+
+    /**
+     * 原图对象名
+     */
+    @TableId(type = IdType.INPUT)
+    private String objectName;
+
+    /**
+     * 已生成的规格，逗号分隔，如 list,detail
+     */
+    private String variants;
+
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,43 @@
+package com.example.ybook.entity;
+
+import com.example.ybook.common.InteractionType;
+import lombok.Data;
+
+/**
+ * 原子切换交互状态的参数与结果，用于 UserNoteInteractionMapper.toggleInteraction
+ */
+@Data
+public class InteractionToggle {
+
+    private Long userId;
+
+    private Long noteId;
+
+    /**
+     * 要切换的交互位
+     */
+    private int bit;
+
+    /**
+     * 切换后的交互位图，由语句通过 LAST_INSERT_ID 回传；位图为 0 时不回传
+     */
+    private Long newInteractionType;
+
+    public InteractionToggle(Long userId, Long noteId, InteractionType type) {
+        this.userId = userId;
+        this.noteId = noteId;
+        this.bit = type.getValue();
+    }
+
+    /**
+     * 根据语句的影响行数判断切换后该交互位是否为开启状态
+     *
+     * @param affectedRows 1-新插入记录，2-更新已有记录
+     */
+    public boolean isSetAfter(int affectedRows) {
+        if (affectedRows == 1) {
+            return true;
+        }
+        return newInteractionType != null && (newInteractionType & bit) != 0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ybook.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 笔记变更记录实体（outbox），与笔记写入在同一事务内插入
+ */
+@Data
+@TableName("y_note_change")
+public class NoteChangeEntity {
+
+    /**
+     * 变更类型：新增或更新
+     */
+    public static final int TYPE_UPSERT = 1;
+
+    /**
+     * 变更类型：删除
+     */
+    public static final int TYPE_DELETE = 2;
+
+    /**
+     * 主键ID，自增顺序即变更顺序
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 笔记ID
+     */
+    private Long noteId;
+
+    /**
+     * 变更类型：1-新增或更新，2-删除
+     */
+    private Integer changeType;
+
+    /**
+     * 变更时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    public static NoteChangeEntity upsert(Long noteId) {
+        return of(noteId, TYPE_UPSERT);
+    }
+
+    public static NoteChangeEntity delete(Long noteId) {
+        return of(noteId, TYPE_DELETE);
+    }
+
+    private static NoteChangeEntity of(Long noteId, int changeType) {
+        NoteChangeEntity change = new NoteChangeEntity();
+        change.setNoteId(noteId);
+        change.setChangeType(changeType);
+        return change;
+    }
+}
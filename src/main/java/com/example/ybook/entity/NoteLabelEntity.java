@@ -1,5 +1,6 @@
 package com.example.ybook.entity;
 
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -21,4 +22,10 @@ public class NoteLabelEntity extends BaseEntity {
      * 标签ID
      */
     private Long labelId;
+    
+    /**
+     * 关联的标签详情（非表字段，批量查询标签时填充）
+     */
+    @TableField(exist = false)
+    private LabelEntity label;
 }
\ No newline at end of file
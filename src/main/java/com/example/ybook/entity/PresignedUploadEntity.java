@@ -0,0 +1,65 @@
+package com.example.ybook.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 直传签名记录实体：签名时写入，完成回调只接受本人名下待完成的记录，过期未完成的对象由清理任务删除
+ */
+@Data
+@TableName("y_presigned_upload")
+public class PresignedUploadEntity {
+
+    /**
+     * 状态：等待上传完成
+     */
+    public static final int STATUS_PENDING = 0;
+
+    /**
+     * 状态：已完成
+     */
+    public static final int STATUS_COMPLETED = 1;
+
+    /**
+     * 签名时分配的对象名
+     */
+    @TableId(type = IdType.INPUT)
+    private String objectName;
+
+    /**
+     * 申请签名的用户ID
+     */
+    private Long userId;
+
+    /**
+     * 签名时声明的文件类型
+     */
+    private String contentType;
+
+    /**
+     * 签名时声明的文件大小（字节）
+     */
+    private Long size;
+
+    /**
+     * 状态：0-等待上传，1-已完成
+     */
+    private Integer status;
+
+    /**
+     * 完成回调的截止时间，之后未完成的对象会被清理
+     */
+    private LocalDateTime expireTime;
+
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+}
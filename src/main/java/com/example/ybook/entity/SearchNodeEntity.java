@@ -0,0 +1,32 @@
+package com.example.ybook.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 检索节点实体：每份本地索引的增量同步位置，清理 y_note_change 时以所有存活节点的最小位置为界
+ */
+@Data
+@TableName("y_search_node")
+public class SearchNodeEntity {
+
+    /**
+     * 节点ID，随索引一起持久化，索引目录重建时生成新ID
+     */
+    @TableId(type = IdType.INPUT)
+    private String nodeId;
+
+    /**
+     * 已提交到该节点索引的最大变更ID
+     */
+    private Long lastChangeId;
+
+    /**
+     * 最近一次登记时间，超过 node-timeout 未登记的节点不再阻止清理
+     */
+    private LocalDateTime heartbeatTime;
+}
@@ -0,0 +1,90 @@
+package com.example.ybook.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 可续传上传会话实体，对应 MinIO 中的一次分片上传；已上传的分片以 MinIO 为准，不在库中记录
+ */
+@Data
+@TableName("y_upload_session")
+public class UploadSessionEntity {
+
+    /**
+     * 状态：上传中
+     */
+    public static final int STATUS_UPLOADING = 0;
+
+    /**
+     * 状态：已合并完成
+     */
+    public static final int STATUS_COMPLETED = 1;
+
+    /**
+     * 会话ID，随机生成，客户端凭此续传
+     */
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    /**
+     * 创建会话的用户ID
+     */
+    private Long userId;
+
+    /**
+     * 最终对象名
+     */
+    private String objectName;
+
+    /**
+     * 原始文件名
+     */
+    private String originalFilename;
+
+    /**
+     * 文件类型
+     */
+    private String contentType;
+
+    /**
+     * 文件总大小（字节）
+     */
+    private Long totalSize;
+
+    /**
+     * 分片大小（字节），最后一片可以更小
+     */
+    private Long chunkSize;
+
+    /**
+     * 分片总数
+     */
+    private Integer chunkCount;
+
+    /**
+     * MinIO 分片上传ID
+     */
+    private String uploadId;
+
+    /**
+     * 状态：0-上传中，1-已完成
+     */
+    private Integer status;
+
+    /**
+     * 过期时间，过期后未完成的会话会被清理
+     */
+    private LocalDateTime expireTime;
+
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+}
@@ -141,12 +141,16 @@ public class GlobalExceptionHandler {
         return switch (code) {
             case UNAUTHORIZED, TOKEN_INVALID, TOKEN_EXPIRED -> HttpStatus.UNAUTHORIZED;
             case FORBIDDEN -> HttpStatus.FORBIDDEN;
-            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case NOT_FOUND, UPLOAD_SESSION_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case UPLOAD_CHUNKS_INCOMPLETE -> HttpStatus.CONFLICT;
+            case FILE_STORAGE_UNSUPPORTED -> HttpStatus.NOT_IMPLEMENTED;
             case METHOD_NOT_ALLOWED -> HttpStatus.METHOD_NOT_ALLOWED;
             case MEDIA_TYPE_NOT_SUPPORTED -> HttpStatus.UNSUPPORTED_MEDIA_TYPE;
             case MEDIA_TYPE_NOT_ACCEPTABLE -> HttpStatus.NOT_ACCEPTABLE;
             case VALIDATION_ERROR -> HttpStatus.UNPROCESSABLE_ENTITY;
-            case BAD_REQUEST, PARAM_MISSING, PARAM_TYPE_MISMATCH, REQUEST_NOT_READABLE -> HttpStatus.BAD_REQUEST;
+            case TOO_MANY_REQUESTS -> HttpStatus.TOO_MANY_REQUESTS;
+            case BAD_REQUEST, PARAM_MISSING, PARAM_TYPE_MISMATCH, REQUEST_NOT_READABLE,
+                 PARAM_INVALID, PARAM_EMPTY -> HttpStatus.BAD_REQUEST;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
     }
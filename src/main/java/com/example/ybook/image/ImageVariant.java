@@ -0,0 +1,33 @@
+package com.example.ybook.image;
+
+import com.example.ybook.config.ImageProperties;
+
+/**
+ * 图片缩略图规格
+ */
+public enum ImageVariant {
+
+    /**
+     * 信息流、收藏列表等列表页
+     */
+    LIST("list"),
+
+    /**
+     * 笔记详情页
+     */
+    DETAIL("detail");
+
+    private final String key;
+
+    ImageVariant(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int maxWidth(ImageProperties properties) {
+        return this == LIST ? properties.getListMaxWidth() : properties.getDetailMaxWidth();
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.ybook.image;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.ybook.common.ImageInfo;
+import com.example.ybook.config.AsyncConfig;
+import com.example.ybook.config.ImageProperties;
+import com.example.ybook.entity.ImageVariantEntity;
+import com.example.ybook.mapper.ImageVariantMapper;
+import com.example.ybook.storage.ObjectStorage;
+import com.example.ybook.vo.NoteVO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 图片缩略图
+ * </p>
+ * 图片上传后异步生成各规格的 JPEG 缩略图，对象名由原图对象名确定（uuid.png -> uuid@list.jpg）。
+ * 原图比目标宽时才生成对应规格（{@link #hasVariant}），生成成功的规格记录在 y_image_variant；
+ * 返回笔记时只为有记录的规格填充 displayUrl，不依赖客户端提交的宽高。
+ * 没有 displayUrl（尚未生成、生成失败或无需缩略图）时客户端使用原图 url。
+ * 只支持 ImageIO 能解码的格式（JPEG、PNG、GIF、BMP），HEIC、WebP 等不生成缩略图，不处理 EXIF 方向信息。
+ */
+@Slf4j
+@Component
+public class ImageVariants {
+
+    private final ObjectStorage objectStorage;
+    private final ImageProperties imageProperties;
+    private final ImageVariantMapper imageVariantMapper;
+
+    /**
+     * 原图对象名 -> 已生成的规格键，没有记录时为空集合
+     */
+    private final Cache<String, Set<String>> recordCache;
+
+    public ImageVariants(ObjectStorage objectStorage, ImageProperties imageProperties,
+                         ImageVariantMapper imageVariantMapper) {
+        this.objectStorage = objectStorage;
+        this.imageProperties = imageProperties;
+        this.imageVariantMapper = imageVariantMapper;
+        this.recordCache = Caffeine.newBuilder()
+                .expireAfterWrite(imageProperties.getRecordCacheTtl())
+                .maximumSize(imageProperties.getRecordCacheMaxSize())
+                .build();
+    }
+
+    /**
+     * 缩略图名称：去掉原图扩展名后追加 @规格.jpg，对象名和URL都适用
+     */
+    public static String variantName(String name, ImageVariant variant) {
+        int dot = name.lastIndexOf('.');
+        String base = dot > name.lastIndexOf('/') ? name.substring(0, dot) : name;
+        return base + "@" + variant.getKey() + ".jpg";
+    }
+
+    /**
+     * 指定宽高的原图是否需要生成该规格的缩略图：原图比目标宽且像素数不超过上限
+     */
+    private boolean hasVariant(int width, int height, ImageVariant variant) {
+        return imageProperties.isVariantsEnabled()
+                && width > variant.maxWidth(imageProperties)
+                && (long) width * height <= imageProperties.getMaxSourcePixels();
+    }
+
+    /**
+     * 为笔记图片填充当前视图使用的缩略图地址，同一批笔记的缩略图记录合并为一次查询
+     */
+    public void applyTo(List<NoteVO> notes, ImageVariant variant) {
+        if (!imageProperties.isVariantsEnabled()) {
+            return;
+        }
+        String prefix = objectStorage.objectUrl("");
+        List<ImageInfo> images = notes.stream()
+                .filter(note -> note != null && note.getImages() != null)
+                .flatMap(note -> note.getImages().stream())
+                .filter(image -> image != null && image.getUrl() != null && image.getUrl().startsWith(prefix))
+                .collect(Collectors.toList());
+        if (images.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> generated = recordCache.getAll(
+                images.stream().map(image -> image.getUrl().substring(prefix.length())).collect(Collectors.toSet()),
+                this::loadRecords);
+        for (ImageInfo image : images) {
+            Set<String> keys = generated.getOrDefault(image.getUrl().substring(prefix.length()), Set.of());
+            image.setDisplayUrl(keys.contains(variant.getKey()) ? variantName(image.getUrl(), variant) : null);
+        }
+    }
+
+    public void applyTo(NoteVO note, ImageVariant variant) {
+        if (note != null) {
+            applyTo(List.of(note), variant);
+        }
+    }
+
+    /**
+     * 读取已上传的图片并生成所需规格的缩略图，失败只记录日志
+     */
+    @Async(AsyncConfig.IMAGE_EXECUTOR)
+    public void generate(String objectName) {
+        if (!imageProperties.isVariantsEnabled()) {
+            return;
+        }
+        try (InputStream inputStream = objectStorage.getObject(objectName);
+             ImageInputStream imageStream = new MemoryCacheImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageStream);
+            if (!readers.hasNext()) {
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                List<ImageVariant> variants = Arrays.stream(ImageVariant.values())
+                        .filter(variant -> hasVariant(width, height, variant))
+                        .collect(Collectors.toList());
+                if (variants.isEmpty()) {
+                    return;
+                }
+
+                int largestWidth = variants.stream().mapToInt(v -> v.maxWidth(imageProperties)).max().getAsInt();
+                BufferedImage source = decode(reader, width, largestWidth);
+                for (ImageVariant variant : variants) {
+                    upload(variantName(objectName, variant), encodeJpeg(resize(source, variant.maxWidth(imageProperties))));
+                }
+                record(objectName, variants);
+                log.debug("生成缩略图: {} ({}x{}) -> {}", objectName, width, height, variants);
+            } finally {
+                reader.dispose();
+            }
+        } catch (Exception e) {
+            log.warn("生成缩略图失败: {}", objectName, e);
+        }
+    }
+
+    private Map<String, Set<String>> loadRecords(Set<? extends String> objectNames) {
+        Map<String, Set<String>> records = new HashMap<>();
+        for (ImageVariantEntity entity : imageVariantMapper.selectList(new LambdaQueryWrapper<ImageVariantEntity>()
+                .in(ImageVariantEntity::getObjectName, objectNames))) {
+            records.put(entity.getObjectName(), Set.of(entity.getVariants().split(",")));
+        }
+        // 没有记录的原图也缓存为空集合，新生成的缩略图在缓存过期后出现
+        for (String objectName : objectNames) {
+            records.putIfAbsent(objectName, Set.of());
+        }
+        return records;
+    }
+
+    /**
+     * 记录生成成功的规格；内容去重后同一原图可能被重复生成，以最后一次为准
+     */
+    private void record(String objectName, List<ImageVariant> variants) {
+        ImageVariantEntity entity = new ImageVariantEntity();
+        entity.setObjectName(objectName);
+        entity.setVariants(variants.stream().map(ImageVariant::getKey).collect(Collectors.joining(",")));
+        try {
+            imageVariantMapper.insert(entity);
+        } catch (DuplicateKeyException e) {
+            imageVariantMapper.updateById(entity);
+        }
+        recordCache.invalidate(objectName);
+    }
+
+    /**
+     * 解码时按行列跳采到不小于目标宽度两倍，减少大图解码的内存与耗时
+     */
+    private static BufferedImage decode(ImageReader reader, int width, int targetWidth) throws IOException {
+        int step = Math.max(1, width / (targetWidth * 2));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        // 逐级减半后再缩放到目标尺寸，单步双线性缩放比例过大时会产生锯齿
+        while (current.getWidth() / 2 >= targetWidth) {
+            current = draw(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            // JPEG 不支持透明，透明区域填充为白色
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(imageProperties.getJpegQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void upload(String objectName, byte[] data) throws IOException {
+        objectStorage.putObject(objectName, new ByteArrayInputStream(data), data.length, MediaType.IMAGE_JPEG_VALUE);
+    }
+}
@@ -2,10 +2,13 @@ package com.example.ybook.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.counter.CountDelta;
 import com.example.ybook.entity.CommentEntity;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +31,24 @@ public interface CommentMapper extends BaseMapper<CommentEntity> {
             Page<CommentEntity> page, 
             @Param("rootCommentId") Long rootCommentId);
     
+    /**
+     * 根据笔记ID游标查询根评论，从 (createTime, id) 之后开始，游标为空时从头开始
+     */
+    List<CommentEntity> selectRootCommentsByNoteIdAfter(
+            @Param("noteId") Long noteId,
+            @Param("createTime") LocalDateTime createTime,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+    
+    /**
+     * 根据根评论ID游标查询回复，从 (createTime, id) 之后开始，游标为空时从头开始
+     */
+    List<CommentEntity> selectRepliesByRootCommentIdAfter(
+            @Param("rootCommentId") Long rootCommentId,
+            @Param("createTime") LocalDateTime createTime,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+    
     /**
      * 根据用户ID分页查询评论
      */
@@ -64,4 +85,23 @@ public interface CommentMapper extends BaseMapper<CommentEntity> {
      * 根据评论ID获取被回复的评论信息（用于显示回复上下文）
      */
     CommentEntity selectReplyToComment(@Param("replyToCommentId") Long replyToCommentId);
-}
\ No newline at end of file
+    
+    /**
+     * 批量获取被回复的评论（用于显示回复上下文），只返回 id、user_id、content
+     */
+    List<CommentEntity> selectReplyToComments(@Param("replyToCommentIds") Collection<Long> replyToCommentIds);
+    
+    /**
+     * 批量累加根评论的回复数（一条多行 UPDATE），计数不会减到 0 以下
+     * @param deltas 根评论ID -> 回复数增量
+     * @return 更新的评论数
+     */
+    int addReplyCountDeltas(@Param("deltas") List<CountDelta> deltas);
+    
+    /**
+     * 按 y_comment 重新统计根评论的回复数，仅更新与实际不一致的根评论
+     * @param rootCommentIds 根评论ID列表
+     * @return 被修正的评论数
+     */
+    int recomputeReplyCounts(@Param("rootCommentIds") Collection<Long> rootCommentIds);
+}
@@ -0,0 +1,12 @@
+package com.example.ybook.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.ybook.entity.FileObjectEntity;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 文件内容索引 Mapper
+ */
+@Mapper
+public interface FileObjectMapper extends BaseMapper<FileObjectEntity> {
+}
@@ -0,0 +1,12 @@
+package com.example.ybook.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.ybook.entity.ImageVariantEntity;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 图片缩略图记录 Mapper
+ */
+@Mapper
+public interface ImageVariantMapper extends BaseMapper<ImageVariantEntity> {
+}
@@ -0,0 +1,12 @@
+package com.example.ybook.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.ybook.entity.NoteChangeEntity;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 笔记变更记录 Mapper
+ */
+@Mapper
+public interface NoteChangeMapper extends BaseMapper<NoteChangeEntity> {
+}
@@ -6,7 +6,10 @@ import com.example.ybook.entity.NoteLabelEntity;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 笔记标签关联 Mapper
@@ -19,6 +22,23 @@ public interface NoteLabelMapper extends BaseMapper<NoteLabelEntity> {
      */
     List<LabelEntity> selectLabelsByNoteId(@Param("noteId") Long noteId);
     
+    /**
+     * 根据笔记ID列表批量查询标签关联（关联记录中携带标签详情）
+     */
+    List<NoteLabelEntity> selectLabelsByNoteIds(@Param("noteIds") List<Long> noteIds);
+    
+    /**
+     * 批量查询标签并按笔记ID分组，一次查询完成整页笔记的标签加载
+     */
+    default Map<Long, List<LabelEntity>> selectLabelsGroupedByNoteIds(List<Long> noteIds) {
+        if (noteIds == null || noteIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return selectLabelsByNoteIds(noteIds).stream()
+                .collect(Collectors.groupingBy(NoteLabelEntity::getNoteId,
+                        Collectors.mapping(NoteLabelEntity::getLabel, Collectors.toList())));
+    }
+    
     /**
      * 根据笔记ID删除所有标签关联
      */
@@ -2,10 +2,15 @@ package com.example.ybook.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.counter.CountDelta;
+import com.example.ybook.counter.NoteCounterDelta;
 import com.example.ybook.entity.NoteEntity;
+import com.example.ybook.vo.NoteVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +29,28 @@ public interface NoteMapper extends BaseMapper<NoteEntity> {
      */
     Page<NoteEntity> selectPageByUserId(Page<NoteEntity> page, @Param("userId") Long userId);
     
+    /**
+     * 笔记信息流查询：一次返回笔记、标签及查看者的点赞/收藏状态
+     * @param userId 笔记所属用户ID
+     * @param viewerId 查看者用户ID，用于计算交互状态
+     * @param offset 偏移量
+     * @param limit 数量，为 null 时不分页
+     */
+    List<NoteVO> selectFeedByUserId(@Param("userId") Long userId,
+                                    @Param("viewerId") Long viewerId,
+                                    @Param("offset") long offset,
+                                    @Param("limit") Long limit);
+    
+    /**
+     * 笔记信息流游标查询：从 (isTop, updateTime, id) 之后开始取数据，游标为空时从头开始
+     */
+    List<NoteVO> selectFeedByUserIdAfter(@Param("userId") Long userId,
+                                         @Param("viewerId") Long viewerId,
+                                         @Param("isTop") String isTop,
+                                         @Param("updateTime") LocalDateTime updateTime,
+                                         @Param("id") Long id,
+                                         @Param("limit") int limit);
+    
     /**
      * 根据标签ID查询笔记列表
      */
@@ -38,4 +65,32 @@ public interface NoteMapper extends BaseMapper<NoteEntity> {
      * 根据关键词搜索笔记（标题和内容）
      */
     Page<NoteEntity> searchNotes(Page<NoteEntity> page, @Param("keyword") String keyword, @Param("userId") Long userId);
-}
\ No newline at end of file
+    
+    /**
+     * 批量累加笔记的点赞数、收藏数（一条多行 UPDATE），计数不会减到 0 以下
+     * @param deltas 每条笔记的计数增量
+     * @return 更新的笔记数
+     */
+    int addCounterDeltas(@Param("deltas") List<NoteCounterDelta> deltas);
+    
+    /**
+     * 按交互表重算笔记的点赞数、收藏数，仅更新与实际不一致的笔记
+     * @param noteIds 笔记ID列表
+     * @return 被修正的笔记数
+     */
+    int reconcileInteractionCounts(@Param("noteIds") Collection<Long> noteIds);
+    
+    /**
+     * 批量累加笔记的评论数（一条多行 UPDATE），计数不会减到 0 以下
+     * @param deltas 笔记ID -> 评论数增量
+     * @return 更新的笔记数
+     */
+    int addCommentCountDeltas(@Param("deltas") List<CountDelta> deltas);
+    
+    /**
+     * 按 y_comment 重新统计笔记的评论数，仅更新与实际不一致的笔记
+     * @param noteIds 笔记ID列表
+     * @return 被修正的笔记数
+     */
+    int recomputeCommentCounts(@Param("noteIds") Collection<Long> noteIds);
+}
@@ -0,0 +1,12 @@
+package com.example.ybook.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.ybook.entity.PresignedUploadEntity;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 直传签名记录 Mapper
+ */
+@Mapper
+public interface PresignedUploadMapper extends BaseMapper<PresignedUploadEntity> {
+}
@@ -0,0 +1,12 @@
+package com.example.ybook.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.ybook.entity.SearchNodeEntity;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 检索节点 Mapper
+ */
+@Mapper
+public interface SearchNodeMapper extends BaseMapper<SearchNodeEntity> {
+}
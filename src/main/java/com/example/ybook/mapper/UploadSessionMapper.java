@@ -0,0 +1,12 @@
+package com.example.ybook.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.ybook.entity.UploadSessionEntity;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 可续传上传会话 Mapper
+ */
+@Mapper
+public interface UploadSessionMapper extends BaseMapper<UploadSessionEntity> {
+}
@@ -2,10 +2,12 @@ package com.example.ybook.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.entity.InteractionToggle;
 import com.example.ybook.entity.UserNoteInteractionEntity;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +40,23 @@ public interface UserNoteInteractionMapper extends BaseMapper<UserNoteInteractio
      */
     Page<Long> selectLikedNoteIdsByUserId(Page<Long> page, @Param("userId") Long userId);
     
+    /**
+     * 游标查询用户指定交互类型的记录，从 (updateTime, noteId) 之后开始，游标为空时从头开始
+     * @param type 交互类型位，参见 InteractionType
+     */
+    List<UserNoteInteractionEntity> selectByUserIdAndTypeAfter(@Param("userId") Long userId,
+                                                               @Param("type") int type,
+                                                               @Param("updateTime") LocalDateTime updateTime,
+                                                               @Param("noteId") Long noteId,
+                                                               @Param("limit") int limit);
+    
+    /**
+     * 原子切换用户对笔记的交互位：记录不存在时插入，存在时按位异或，一条语句完成且并发下不会触发唯一键冲突。
+     * 切换后的位图回填到 {@link InteractionToggle#getNewInteractionType()}
+     * @return 0-笔记不存在，1-新插入记录，2-更新已有记录
+     */
+    int toggleInteraction(InteractionToggle toggle);
+    
     /**
      * 统计笔记的点赞数
      */
@@ -0,0 +1,415 @@
+package com.example.ybook.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.ybook.common.ApiCode;
+import com.example.ybook.config.AsyncConfig;
+import com.example.ybook.config.SearchProperties;
+import com.example.ybook.entity.NoteEntity;
+import com.example.ybook.exception.BizException;
+import com.example.ybook.mapper.NoteMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.NullFragmenter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * 基于嵌入式 Lucene 的笔记检索引擎
+ * </p>
+ * 使用 smartcn 做中文分词，标题权重高于内容。索引目录中已有提交的索引时启动后直接可用，
+ * 之后的变更由 {@link NoteChangeConsumer} 增量同步；索引为空、配置要求或本节点停机期间变更已被清理时
+ * 在后台从数据库全量重建，重建完成前 {@link #isReady()} 返回 false，重建期间发生变更的笔记会在重建结束后重新同步。
+ * 节点ID与已同步的最大变更ID作为提交数据随索引一起保存，与索引内容原子地持久化。
+ */
+@Slf4j
+@Component
+public class LuceneNoteSearchEngine implements NoteSearchEngine {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_UID = "uid";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+
+    private static final String COMMIT_NODE_ID = "nodeId";
+    private static final String COMMIT_LAST_CHANGE_ID = "lastChangeId";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(FIELD_TITLE, 2.0f, FIELD_CONTENT, 1.0f);
+
+    private final SearchProperties searchProperties;
+    private final NoteMapper noteMapper;
+    private final TaskExecutor searchIndexExecutor;
+    private final SearchNodeRegistry searchNodeRegistry;
+    private final Analyzer analyzer = new SmartChineseAnalyzer();
+
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private String nodeId;
+    private volatile long lastChangeId;
+
+    private volatile boolean ready;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public LuceneNoteSearchEngine(SearchProperties searchProperties,
+                                  NoteMapper noteMapper,
+                                  @Qualifier(AsyncConfig.SEARCH_INDEX_EXECUTOR) TaskExecutor searchIndexExecutor,
+                                  SearchNodeRegistry searchNodeRegistry) {
+        this.searchProperties = searchProperties;
+        this.noteMapper = noteMapper;
+        this.searchIndexExecutor = searchIndexExecutor;
+        this.searchNodeRegistry = searchNodeRegistry;
+    }
+
+    @PostConstruct
+    public void open() {
+        if (!searchProperties.isEnabled()) {
+            log.info("Note search index disabled, searching falls back to database");
+            return;
+        }
+        try {
+            Path indexDir = Path.of(searchProperties.getIndexDir());
+            Files.createDirectories(indexDir);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            writer = new IndexWriter(FSDirectory.open(indexDir), config);
+            searcherManager = new SearcherManager(writer, null);
+            Map<String, String> commitData = new HashMap<>();
+            if (writer.getLiveCommitData() != null) {
+                writer.getLiveCommitData().forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+            }
+            nodeId = commitData.getOrDefault(COMMIT_NODE_ID, UUID.randomUUID().toString());
+            lastChangeId = Long.parseLong(commitData.getOrDefault(COMMIT_LAST_CHANGE_ID, "0"));
+            setCommitData(lastChangeId);
+        } catch (IOException e) {
+            // 索引目录不可用（如被其他实例锁定）时不影响启动，搜索回退到数据库
+            log.warn("Failed to open note search index at {}, searching falls back to database",
+                    searchProperties.getIndexDir(), e);
+            writer = null;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (writer == null) {
+            return;
+        }
+        searchIndexExecutor.execute(() -> {
+            try {
+                start();
+            } catch (RuntimeException e) {
+                log.warn("Note search index startup failed, searching falls back to database", e);
+            }
+        });
+    }
+
+    private void start() {
+        boolean behindPurge = searchNodeRegistry.isBehindPurge(nodeId, lastChangeId);
+        // 先登记当前位置，重建或追平期间清理任务不会删除本节点还需要的变更
+        searchNodeRegistry.report(nodeId, lastChangeId);
+        if (!searchProperties.isRebuildOnStartup() && !behindPurge && writer.getDocStats().numDocs > 0) {
+            // 已提交位置之后的变更仍保留在 y_note_change 中，由增量同步追平
+            ready = true;
+            log.info("Opened note search index {} with {} notes at change {}",
+                    nodeId, writer.getDocStats().numDocs, lastChangeId);
+            return;
+        }
+        if (behindPurge) {
+            log.info("Note search index {} missed purged changes after change {}, rebuilding", nodeId, lastChangeId);
+        }
+        rebuild();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public NoteSearchResult search(Long userId, String keyword, long offset, int limit, boolean countTotal) {
+        Query query = buildQuery(userId, keyword);
+        if (query == null) {
+            return null;
+        }
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            Long total = countTotal ? (long) searcher.count(query) : null;
+            if (limit <= 0 || (total != null && total <= offset)) {
+                return new NoteSearchResult(total, Collections.emptyList());
+            }
+
+            TopDocs topDocs = searcher.search(query, (int) Math.min(Integer.MAX_VALUE, offset + limit));
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            List<NoteSearchResult.Hit> hits = new ArrayList<>();
+            for (int i = (int) offset; i < scoreDocs.length; i++) {
+                Document doc = storedFields.document(scoreDocs[i].doc);
+                hits.add(new NoteSearchResult.Hit(
+                        Long.valueOf(doc.get(FIELD_ID)),
+                        scoreDocs[i].score,
+                        highlight(query, FIELD_TITLE, doc.get(FIELD_TITLE), false),
+                        highlight(query, FIELD_CONTENT, doc.get(FIELD_CONTENT), true)));
+            }
+            return new NoteSearchResult(total, hits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @Override
+    public void index(NoteEntity note) {
+        if (writer == null) {
+            return;
+        }
+        markChangedDuringRebuild(note.getId());
+        try {
+            writer.updateDocument(idTerm(note.getId()), toDocument(note));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(Long noteId) {
+        if (writer == null) {
+            return;
+        }
+        markChangedDuringRebuild(noteId);
+        try {
+            writer.deleteDocuments(idTerm(noteId));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void commit(long lastChangeId) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            setCommitData(lastChangeId);
+            writer.commit();
+            this.lastChangeId = lastChangeId;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public long getLastChangeId() {
+        return lastChangeId;
+    }
+
+    @Override
+    public void rebuild() {
+        if (writer == null || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        ready = false;
+        changedDuringRebuild.clear();
+        long start = System.currentTimeMillis();
+        try {
+            // 之后读取的是数据库当前状态，已包含该ID及之前的全部变更
+            long rebuiltChangeId = searchNodeRegistry.latestChangeId();
+            writer.deleteAll();
+            long indexed = 0;
+            long lastId = 0;
+            List<NoteEntity> batch;
+            do {
+                // 按主键分批读取，避免一次加载全部笔记
+                batch = noteMapper.selectList(new LambdaQueryWrapper<NoteEntity>()
+                        .gt(NoteEntity::getId, lastId)
+                        .orderByAsc(NoteEntity::getId)
+                        .last("LIMIT " + searchProperties.getRebuildBatchSize()));
+                for (NoteEntity note : batch) {
+                    writer.updateDocument(idTerm(note.getId()), toDocument(note));
+                    lastId = note.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == searchProperties.getRebuildBatchSize());
+
+            // 重建期间提交的变更可能被较早读取的旧数据覆盖，按数据库当前状态再同步一次
+            resyncChangedDuringRebuild();
+            commit(rebuiltChangeId);
+            searcherManager.maybeRefreshBlocking();
+            searchNodeRegistry.report(nodeId, rebuiltChangeId);
+            ready = true;
+            log.info("Rebuilt note search index with {} notes in {} ms", indexed, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        ready = false;
+        try {
+            searcherManager.close();
+            writer.commit();
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close note search index", e);
+        }
+    }
+
+    private void resyncChangedDuringRebuild() throws IOException {
+        while (!changedDuringRebuild.isEmpty()) {
+            List<Long> noteIds = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(noteIds);
+            Map<Long, NoteEntity> notesById = new HashMap<>();
+            for (NoteEntity note : noteMapper.selectByIds(noteIds)) {
+                notesById.put(note.getId(), note);
+            }
+            for (Long noteId : noteIds) {
+                NoteEntity note = notesById.get(noteId);
+                if (note == null) {
+                    writer.deleteDocuments(idTerm(noteId));
+                } else {
+                    writer.updateDocument(idTerm(noteId), toDocument(note));
+                }
+            }
+        }
+    }
+
+    private void setCommitData(long changeId) {
+        writer.setLiveCommitData(Map.of(COMMIT_NODE_ID, nodeId, COMMIT_LAST_CHANGE_ID, String.valueOf(changeId))
+                .entrySet());
+    }
+
+    private void markChangedDuringRebuild(Long noteId) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(noteId);
+        }
+    }
+
+    /**
+     * 关键词分词后没有任何词项时返回 null
+     */
+    private Query buildQuery(Long userId, String keyword) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                new String[]{FIELD_TITLE, FIELD_CONTENT}, analyzer, FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        Query textQuery;
+        try {
+            // 关键词按普通文本处理，不支持查询语法
+            textQuery = parser.parse(QueryParser.escape(keyword));
+        } catch (ParseException e) {
+            throw new BizException(ApiCode.PARAM_INVALID, "搜索关键词无效");
+        }
+        // 分析器丢弃了全部内容时解析结果为空的 BooleanQuery，不能据此返回零命中
+        if (textQuery instanceof BooleanQuery booleanQuery && booleanQuery.clauses().isEmpty()) {
+            return null;
+        }
+        return new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_UID, String.valueOf(userId))), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private String highlight(Query query, String field, String text, boolean fragment) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        QueryScorer scorer = new QueryScorer(query, field);
+        Highlighter highlighter = new Highlighter(
+                new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), scorer);
+        highlighter.setTextFragmenter(fragment
+                ? new SimpleSpanFragmenter(scorer, searchProperties.getHighlightFragmentSize())
+                : new NullFragmenter());
+        try {
+            return highlighter.getBestFragment(analyzer, field, text);
+        } catch (InvalidTokenOffsetsException e) {
+            return null;
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release index searcher", e);
+        }
+    }
+
+    private static Term idTerm(Long noteId) {
+        return new Term(FIELD_ID, String.valueOf(noteId));
+    }
+
+    private static Document toDocument(NoteEntity note) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, String.valueOf(note.getId()), Field.Store.YES));
+        doc.add(new StringField(FIELD_UID, String.valueOf(note.getUid()), Field.Store.NO));
+        if (note.getTitle() != null) {
+            doc.add(new TextField(FIELD_TITLE, note.getTitle(), Field.Store.YES));
+        }
+        if (note.getContent() != null) {
+            doc.add(new TextField(FIELD_CONTENT, note.getContent(), Field.Store.YES));
+        }
+        return doc;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.ybook.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.ybook.config.AsyncConfig;
+import com.example.ybook.config.SearchProperties;
+import com.example.ybook.entity.NoteChangeEntity;
+import com.example.ybook.entity.NoteEntity;
+import com.example.ybook.mapper.NoteChangeMapper;
+import com.example.ybook.mapper.NoteMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 笔记变更增量同步任务
+ * </p>
+ * 从本节点索引已提交的变更ID之后按顺序批量读取 y_note_change，同一批内同一笔记只按数据库最新状态同步一次；
+ * 新的同步位置与索引一起提交后再登记到 {@link SearchNodeRegistry}，记录由所有节点都同步后统一清理，
+ * 因此每个节点都能看到全部变更，重启或失败后未提交的变更会被重新处理。
+ * 事务提交顺序可能与自增ID顺序不同，读到ID不连续时，缺口之后不足 change-settle-delay 的记录会重新读取，
+ * 同步位置不越过可能仍在提交中的变更。
+ * 轮询在 search-index 线程池中执行，上一轮未结束时本轮直接跳过；索引未就绪时只刷新积压指标。
+ */
+@Slf4j
+@Component
+public class NoteChangeConsumer {
+
+    private final NoteChangeMapper noteChangeMapper;
+    private final NoteMapper noteMapper;
+    private final NoteSearchEngine noteSearchEngine;
+    private final SearchNodeRegistry searchNodeRegistry;
+    private final SearchProperties searchProperties;
+    private final Counter appliedCounter;
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    /**
+     * 最近一次轮询时本节点待处理的变更数；索引不可用时为尚未清理的变更数
+     */
+    private volatile long pending;
+
+    /**
+     * 最早一条未同步变更的时间，没有积压时为 null
+     */
+    private volatile LocalDateTime oldestPendingTime;
+
+    public NoteChangeConsumer(NoteChangeMapper noteChangeMapper,
+                              NoteMapper noteMapper,
+                              NoteSearchEngine noteSearchEngine,
+                              SearchNodeRegistry searchNodeRegistry,
+                              SearchProperties searchProperties,
+                              MeterRegistry meterRegistry) {
+        this.noteChangeMapper = noteChangeMapper;
+        this.noteMapper = noteMapper;
+        this.noteSearchEngine = noteSearchEngine;
+        this.searchNodeRegistry = searchNodeRegistry;
+        this.searchProperties = searchProperties;
+        this.appliedCounter = Counter.builder("ybook.search.changes.applied")
+                .description("已同步到检索索引的笔记变更数")
+                .register(meterRegistry);
+        Gauge.builder("ybook.search.changes.pending", this, consumer -> consumer.pending)
+                .description("待同步到检索索引的笔记变更数")
+                .register(meterRegistry);
+        TimeGauge.builder("ybook.search.changes.lag", this, TimeUnit.MILLISECONDS, NoteChangeConsumer::lagMillis)
+                .description("最早一条未同步笔记变更的等待时间")
+                .register(meterRegistry);
+    }
+
+    @Async(AsyncConfig.SEARCH_INDEX_EXECUTOR)
+    @Scheduled(fixedDelayString = "${ybook.search.change-poll-interval:1s}")
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // 全量重建期间、检索被禁用或索引打开失败时不同步，积压指标照常刷新
+            if (noteSearchEngine.isReady()) {
+                drain();
+            }
+            refreshPending();
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void drain() {
+        int batchSize = searchProperties.getChangeBatchSize();
+        long lastChangeId;
+        long settledChangeId;
+        List<NoteChangeEntity> changes;
+        do {
+            lastChangeId = noteSearchEngine.getLastChangeId();
+            changes = noteChangeMapper.selectList(new LambdaQueryWrapper<NoteChangeEntity>()
+                    .gt(NoteChangeEntity::getId, lastChangeId)
+                    .orderByAsc(NoteChangeEntity::getId)
+                    .last("LIMIT " + batchSize));
+            settledChangeId = settledChangeId(lastChangeId, changes);
+            if (!changes.isEmpty()) {
+                apply(changes, settledChangeId);
+            }
+            // 位置停在缺口前时下一轮再读，不在本轮重复读取同一批
+        } while (changes.size() == batchSize && settledChangeId == changes.get(changes.size() - 1).getId());
+        searchNodeRegistry.report(noteSearchEngine.getNodeId(), noteSearchEngine.getLastChangeId());
+    }
+
+    /**
+     * 本批处理后可以提交的同步位置：ID连续的记录直接推进；遇到缺口时，
+     * 只有缺口后的记录已写入超过 change-settle-delay（缺口处的事务应已提交或回滚）才越过缺口
+     */
+    private long settledChangeId(long lastChangeId, List<NoteChangeEntity> changes) {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(searchProperties.getChangeSettleDelay());
+        long settled = lastChangeId;
+        for (NoteChangeEntity change : changes) {
+            if (change.getId() != settled + 1 && change.getCreateTime().isAfter(settledBefore)) {
+                break;
+            }
+            settled = change.getId();
+        }
+        return settled;
+    }
+
+    private void refreshPending() {
+        long lastChangeId = noteSearchEngine.getLastChangeId();
+        NoteChangeEntity oldest = noteChangeMapper.selectOne(new LambdaQueryWrapper<NoteChangeEntity>()
+                .gt(NoteChangeEntity::getId, lastChangeId)
+                .orderByAsc(NoteChangeEntity::getId)
+                .last("LIMIT 1"));
+        pending = oldest == null ? 0 : noteChangeMapper.selectCount(new LambdaQueryWrapper<NoteChangeEntity>()
+                .gt(NoteChangeEntity::getId, lastChangeId));
+        oldestPendingTime = oldest == null ? null : oldest.getCreateTime();
+    }
+
+    /**
+     * 同步一批变更并提交索引；缺口之后的记录也先写入索引，位置只推进到 settledChangeId，之后会被幂等地重新处理
+     */
+    private void apply(List<NoteChangeEntity> changes, long settledChangeId) {
+        Set<Long> noteIds = changes.stream()
+                .map(NoteChangeEntity::getNoteId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        // 删除的笔记查不到，统一按数据库当前状态决定写入还是删除索引
+        Map<Long, NoteEntity> notesById = noteMapper.selectByIds(noteIds).stream()
+                .collect(Collectors.toMap(NoteEntity::getId, Function.identity()));
+        for (Long noteId : noteIds) {
+            NoteEntity note = notesById.get(noteId);
+            if (note == null) {
+                noteSearchEngine.delete(noteId);
+            } else {
+                noteSearchEngine.index(note);
+            }
+        }
+        noteSearchEngine.commit(settledChangeId);
+        appliedCounter.increment(changes.stream().filter(change -> change.getId() <= settledChangeId).count());
+        log.debug("Applied {} note changes ({} notes) to search index", changes.size(), noteIds.size());
+    }
+
+    private double lagMillis() {
+        LocalDateTime oldest = oldestPendingTime;
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ybook.search;
+
+import com.example.ybook.entity.NoteEntity;
+
+/**
+ * <p>
+ * 笔记全文检索引擎
+ * </p>
+ * 索引是数据库的派生数据：未就绪（启动重建中或被禁用）时调用方应回退到数据库查询。
+ * 每个实例各自维护一份索引，并记录已同步到的变更ID，见 {@link SearchNodeRegistry}。
+ */
+public interface NoteSearchEngine {
+
+    /**
+     * 索引是否可用于查询
+     */
+    boolean isReady();
+
+    /**
+     * 在指定用户的笔记中按相关度检索
+     *
+     * @param userId     笔记所属用户ID
+     * @param keyword    搜索关键词
+     * @param offset     跳过的命中数
+     * @param limit      返回的最大命中数
+     * @param countTotal 是否统计总命中数
+     * @return 检索结果，按相关度降序；关键词分词后没有可检索的词（如只有标点或停用词）时返回 null，调用方应回退到数据库查询
+     */
+    NoteSearchResult search(Long userId, String keyword, long offset, int limit, boolean countTotal);
+
+    /**
+     * 新增或覆盖一条笔记的索引
+     */
+    void index(NoteEntity note);
+
+    /**
+     * 删除一条笔记的索引
+     */
+    void delete(Long noteId);
+
+    /**
+     * 持久化已写入的索引变更及其对应的最大变更ID，返回后重启不会丢失这些变更
+     */
+    void commit(long lastChangeId);
+
+    /**
+     * 本索引的节点ID，用于登记增量同步位置
+     */
+    String getNodeId();
+
+    /**
+     * 已提交到索引的最大 y_note_change ID，索引未打开或从未同步时为 0
+     */
+    long getLastChangeId();
+
+    /**
+     * 从数据库全量重建索引
+     */
+    void rebuild();
+}
@@ -0,0 +1,45 @@
+package com.example.ybook.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * <p>
+ * 笔记检索结果
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class NoteSearchResult {
+
+    /**
+     * 总命中数，未统计时为 null
+     */
+    private final Long total;
+
+    /**
+     * 当前页命中，按相关度降序
+     */
+    private final List<Hit> hits;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+
+        private final Long noteId;
+
+        private final float score;
+
+        /**
+         * 标题高亮片段，无匹配时为 null
+         */
+        private final String titleHighlight;
+
+        /**
+         * 内容高亮片段，无匹配时为 null
+         */
+        private final String contentHighlight;
+    }
+}
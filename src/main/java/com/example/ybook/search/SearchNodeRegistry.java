@@ -0,0 +1,111 @@
+package com.example.ybook.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.ybook.config.SearchProperties;
+import com.example.ybook.entity.NoteChangeEntity;
+import com.example.ybook.entity.SearchNodeEntity;
+import com.example.ybook.mapper.NoteChangeMapper;
+import com.example.ybook.mapper.SearchNodeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * <p>
+ * 检索节点同步位置登记
+ * </p>
+ * 每个实例的本地索引在 y_search_node 中登记已提交的最大变更ID，y_note_change 只删除所有存活节点都已同步的记录，
+ * 各节点互不影响地读取同一份变更。超过 node-timeout 未登记的节点视为下线，不再阻止清理；
+ * 它重启时可能已缺少部分变更，由 {@link #isBehindPurge} 判断后全量重建索引。
+ * 没有任何存活节点（如全部禁用检索）时全部记录都会被清理，outbox 不会无限增长。
+ */
+@Slf4j
+@Component
+public class SearchNodeRegistry {
+
+    private final SearchNodeMapper searchNodeMapper;
+    private final NoteChangeMapper noteChangeMapper;
+    private final SearchProperties searchProperties;
+
+    private volatile long lastReportedChangeId = -1;
+    private volatile LocalDateTime lastReportedTime;
+
+    public SearchNodeRegistry(SearchNodeMapper searchNodeMapper,
+                              NoteChangeMapper noteChangeMapper,
+                              SearchProperties searchProperties) {
+        this.searchNodeMapper = searchNodeMapper;
+        this.noteChangeMapper = noteChangeMapper;
+        this.searchProperties = searchProperties;
+    }
+
+    /**
+     * 清理任务是否可能已删除该节点尚未同步的变更：登记已过期，或索引有同步位置但从未登记
+     */
+    public boolean isBehindPurge(String nodeId, long lastChangeId) {
+        SearchNodeEntity node = searchNodeMapper.selectById(nodeId);
+        if (node == null) {
+            return lastChangeId > 0;
+        }
+        return node.getHeartbeatTime().isBefore(LocalDateTime.now().minus(searchProperties.getNodeTimeout()));
+    }
+
+    /**
+     * 登记节点已提交到索引的变更ID，位置不变时按 node-heartbeat-interval 节流
+     */
+    public void report(String nodeId, long lastChangeId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime last = lastReportedTime;
+        if (lastChangeId == lastReportedChangeId && last != null
+                && last.isAfter(now.minus(searchProperties.getNodeHeartbeatInterval()))) {
+            return;
+        }
+        SearchNodeEntity node = new SearchNodeEntity();
+        node.setNodeId(nodeId);
+        node.setLastChangeId(lastChangeId);
+        node.setHeartbeatTime(now);
+        if (searchNodeMapper.updateById(node) == 0) {
+            searchNodeMapper.insert(node);
+        }
+        lastReportedChangeId = lastChangeId;
+        lastReportedTime = now;
+    }
+
+    /**
+     * 当前最大的变更ID，没有记录时为 0
+     */
+    public long latestChangeId() {
+        NoteChangeEntity latest = noteChangeMapper.selectOne(new LambdaQueryWrapper<NoteChangeEntity>()
+                .orderByDesc(NoteChangeEntity::getId)
+                .last("LIMIT 1"));
+        return latest == null ? 0 : latest.getId();
+    }
+
+    /**
+     * 删除所有存活节点都已同步的变更记录；每个实例都会执行，重复删除没有影响
+     */
+    @Scheduled(fixedDelayString = "${ybook.search.change-purge-interval:1m}",
+            initialDelayString = "${ybook.search.change-purge-interval:1m}")
+    public void purge() {
+        List<SearchNodeEntity> liveNodes = searchNodeMapper.selectList(new LambdaQueryWrapper<SearchNodeEntity>()
+                .ge(SearchNodeEntity::getHeartbeatTime, LocalDateTime.now().minus(searchProperties.getNodeTimeout())));
+        long bound = liveNodes.isEmpty()
+                ? latestChangeId()
+                : liveNodes.stream().mapToLong(SearchNodeEntity::getLastChangeId).min().getAsLong();
+        int batchSize = searchProperties.getChangePurgeBatchSize();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = noteChangeMapper.delete(new LambdaQueryWrapper<NoteChangeEntity>()
+                    .le(NoteChangeEntity::getId, bound)
+                    .orderByAsc(NoteChangeEntity::getId)
+                    .last("LIMIT " + batchSize));
+            purged += deleted;
+        } while (deleted == batchSize);
+        if (purged > 0) {
+            log.debug("Purged {} note changes up to id {} ({} live search nodes)", purged, bound, liveNodes.size());
+        }
+    }
+}
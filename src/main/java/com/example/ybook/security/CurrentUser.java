@@ -1,13 +1,14 @@
 package com.example.ybook.security;
 
 import java.io.Serializable;
+import java.security.Principal;
 import java.util.Collections;
 import java.util.Set;
 
 /**
- * 当前登录用户的精简信息。
+ * 当前登录用户的精简信息，同时作为 JWT 认证后的 principal。
  */
-public class CurrentUser implements Serializable {
+public class CurrentUser implements Principal, Serializable {
     private final Long id;
     private final String username;
     private final Set<String> roles;
@@ -29,5 +30,10 @@ public class CurrentUser implements Serializable {
     public Set<String> getRoles() {
         return roles;
     }
+
+    @Override
+    public String getName() {
+        return username;
+    }
 }
 
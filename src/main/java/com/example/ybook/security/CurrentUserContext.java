@@ -1,7 +1,15 @@
 package com.example.ybook.security;
 
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
 /**
  * 使用 ThreadLocal 保存当前请求的用户信息。
+ * <p>
+ * 跨线程时用 {@link #wrap(Runnable)} 等方法捕获提交时的用户，或通过 {@link CurrentUserTaskDecorator}
+ * 让线程池自动传递；{@link #runWith}/{@link #callWith} 在限定范围内绑定用户并在结束后恢复原值。
+ * 捕获与传递只复用已有的 {@link CurrentUser} 实例，没有当前用户时直接返回原任务。
+ * （ScopedValue 在 Java 21 中仍是预览特性，绑定范围的语义先由这里的方法提供。）
  */
 public final class CurrentUserContext {
     private static final ThreadLocal<CurrentUser> HOLDER = new ThreadLocal<>();
@@ -37,5 +45,73 @@ public final class CurrentUserContext {
     public static void clear() {
         HOLDER.remove();
     }
-}
 
+    /**
+     * 以指定用户执行任务，结束后恢复执行前的值
+     */
+    public static void runWith(CurrentUser user, Runnable task) {
+        CurrentUser previous = HOLDER.get();
+        HOLDER.set(user);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * 以指定用户执行任务并返回结果，结束后恢复执行前的值
+     */
+    public static <T> T callWith(CurrentUser user, Callable<T> task) throws Exception {
+        CurrentUser previous = HOLDER.get();
+        HOLDER.set(user);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * 捕获当前用户，返回在任意线程上都以该用户执行的任务
+     */
+    public static Runnable wrap(Runnable task) {
+        CurrentUser user = HOLDER.get();
+        return user == null ? task : () -> runWith(user, task);
+    }
+
+    /**
+     * 同 {@link #wrap(Runnable)}，用于 ExecutorService.submit 等
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        CurrentUser user = HOLDER.get();
+        return user == null ? task : () -> callWith(user, task);
+    }
+
+    /**
+     * 同 {@link #wrap(Runnable)}，用于 CompletableFuture.supplyAsync 等
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        CurrentUser user = HOLDER.get();
+        if (user == null) {
+            return task;
+        }
+        return () -> {
+            CurrentUser previous = HOLDER.get();
+            HOLDER.set(user);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(CurrentUser previous) {
+        if (previous == null) {
+            HOLDER.remove();
+        } else {
+            HOLDER.set(previous);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ybook.security;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * <p>
+ * 把提交任务时的当前用户传递到线程池线程的任务装饰器
+ * </p>
+ * 请求中触发的 {@code @Async} 任务可直接使用 {@link CurrentUserContext}；
+ * 定时任务等没有当前用户的提交不做任何包装。任务结束后线程上的值会被恢复，不会泄漏给下一个任务。
+ */
+public class CurrentUserTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return CurrentUserContext.wrap(runnable);
+    }
+}
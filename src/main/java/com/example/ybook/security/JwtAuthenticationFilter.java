@@ -1,5 +1,7 @@
 package com.example.ybook.security;
 
+import com.example.ybook.cache.UserProfile;
+import com.example.ybook.cache.UserProfileCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,20 +9,23 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * <p>
  * JWT 认证过滤器
  * </p>
+ * 用户ID与角色取自已校验的令牌声明；禁用、删除及修改密码后的令牌失效判断读取本地用户资料缓存，
+ * 缓存命中时认证过程不访问数据库。缓存失效只在处理修改的实例上立即生效，
+ * 其他实例按 ybook.user-cache.revocation-check-ttl（默认 30 秒）重新加载，期间仍会接受已失效的令牌。
  *
  * @author 柒
  * @since 2025-09-06
@@ -30,21 +35,18 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
-    private final com.example.ybook.service.UserService userService;
+    private final UserProfileCache userProfileCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
-                                   com.example.ybook.service.UserService userService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserProfileCache userProfileCache) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
-        this.userService = userService;
+        this.userProfileCache = userProfileCache;
     }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        
+
         final String authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -53,25 +55,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String jwt = authHeader.substring(7);
         try {
-            final String username = jwtService.extractUsername(jwt);
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                VerifiedToken token = jwtService.parse(jwt);
+                // 不含用户ID的旧令牌视为无效，需重新登录
+                if (token.getUserId() != null && token.getUsername() != null && isActive(token)) {
+                    CurrentUser currentUser = token.toCurrentUser();
+                    List<SimpleGrantedAuthority> authorities = currentUser.getRoles().stream()
+                            .map(SimpleGrantedAuthority::new)
+                            .collect(Collectors.toList());
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                            currentUser, null, authorities);
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
                     // 填充 ThreadLocal 的当前用户信息
-                    Long userId = userService.lambdaQuery()
-                            .eq(com.example.ybook.entity.UserEntity::getUsername, username)
-                            .oneOpt()
-                            .map(com.example.ybook.entity.UserEntity::getId)
-                            .orElse(null);
-                    java.util.Set<String> roles = userDetails.getAuthorities().stream()
-                            .map(GrantedAuthority::getAuthority)
-                            .collect(java.util.stream.Collectors.toSet());
-                    CurrentUserContext.set(new CurrentUser(userId, username, roles));
+                    CurrentUserContext.set(currentUser);
                 }
             }
         } catch (Exception e) {
@@ -85,4 +83,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             CurrentUserContext.clear();
         }
     }
+
+    /**
+     * 用户存在、未被禁用，且令牌签发后未修改过密码
+     */
+    private boolean isActive(VerifiedToken token) {
+        UserProfile profile = userProfileCache.getForRevocationCheck(token.getUserId());
+        return profile != null
+                && profile.isEnabled()
+                && profile.getCredentialVersion().equals(token.getCredentialVersion());
+    }
 }
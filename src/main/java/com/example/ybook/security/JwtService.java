@@ -1,20 +1,36 @@
 package com.example.ybook.security;
 
+import com.example.ybook.cache.UserProfile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * <p>
  * JWT 令牌服务
  * </p>
+ * 密钥与解析器在启动时构建一次。校验通过的令牌按完整令牌串缓存一段时间（不超过令牌自身的过期时间），
+ * 同一令牌再次出现时直接复用解析结果，跳过 HMAC 校验与 JSON 解析。
  *
  * @author 柒
  * @since 2025-09-06
@@ -22,51 +38,128 @@ import java.util.Date;
 @Component
 public class JwtService {
 
-    @Value("${security.jwt.secret:change-me-please-change-me-please-change}")
-    private String secret;
+    /**
+     * 用户ID
+     */
+    public static final String CLAIM_USER_ID = "uid";
 
-    @Value("${security.jwt.expiration:86400000}") // default 1 day
-    private long expirationMs;
+    /**
+     * 角色列表
+     */
+    public static final String CLAIM_ROLES = "roles";
 
-    private SecretKey getKey() {
+    /**
+     * 签发时的凭证版本，见 {@link UserProfile#getCredentialVersion()}
+     */
+    public static final String CLAIM_CREDENTIAL_VERSION = "ver";
+
+    private final long expirationMs;
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    /**
+     * 已校验令牌缓存；以完整令牌串为键，保证命中时头部、载荷与签名都与校验时一致
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${security.jwt.secret:change-me-please-change-me-please-change}") String secret,
+                      @Value("${security.jwt.expiration:86400000}") long expirationMs, // default 1 day
+                      @Value("${security.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+                      @Value("${security.jwt.verified-cache-ttl:5m}") Duration verifiedCacheTtl,
+                      MeterRegistry meterRegistry) {
+        this.expirationMs = expirationMs;
+        this.key = buildKey(secret);
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(expireAtTokenExpiry(verifiedCacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerified");
+    }
+
+    private static SecretKey buildKey(String secret) {
         byte[] keyBytes;
         try {
             keyBytes = Decoders.BASE64.decode(secret);
         } catch (IllegalArgumentException e) {
-            keyBytes = secret.getBytes();
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         }
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String generateToken(String username) {
+    /**
+     * 签发令牌，携带用户ID、角色与凭证版本，认证时无需再查询用户
+     */
+    public String generateToken(UserProfile user, Collection<String> roles) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_CREDENTIAL_VERSION, user.getCredentialVersion())
                 .issuedAt(now)
                 .expiration(exp)
-                .signWith(getKey())
+                .signWith(key)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return parseAllClaims(token).getSubject();
+    /**
+     * 校验签名与有效期并一次性解析全部声明，校验失败时抛出 JwtException
+     */
+    public VerifiedToken parse(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.invalidate(token);
+        }
+        VerifiedToken verified = toVerifiedToken(parser.parseSignedClaims(token).getPayload());
+        verifiedTokens.put(token, verified);
+        return verified;
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        Set<String> roles = new LinkedHashSet<>();
+        if (claims.get(CLAIM_ROLES) instanceof Collection<?> values) {
+            values.forEach(role -> roles.add(String.valueOf(role)));
+        }
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new ExpiredJwtException(null, claims, "JWT without expiration is not accepted");
+        }
+        return new VerifiedToken(
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.getSubject(),
+                Collections.unmodifiableSet(roles),
+                claims.get(CLAIM_CREDENTIAL_VERSION, String.class),
+                expiration.toInstant());
     }
 
-    private boolean isTokenExpired(String token) {
-        return parseAllClaims(token).getExpiration().before(new Date());
-    }
+    /**
+     * 缓存条目在配置的有效期与令牌过期时间中较早者失效
+     */
+    private static Expiry<String, VerifiedToken> expireAtTokenExpiry(Duration ttl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                Duration remaining = Duration.between(Instant.now(), verified.getExpiresAt());
+                return Math.max(0, Math.min(ttl.toNanos(), remaining.toNanos()));
+            }
+
+            @Override
+            public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime,
+                                          long currentDuration) {
+                return expireAfterCreate(token, verified, currentTime);
+            }
 
-    private Claims parseAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            @Override
+            public long expireAfterRead(String token, VerifiedToken verified, long currentTime,
+                                        long currentDuration) {
+                return currentDuration;
+            }
+        };
     }
 }
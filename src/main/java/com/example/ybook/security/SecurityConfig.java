@@ -47,6 +47,10 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // .securityMatcher("/api/**") // 只对 /api 路径应用安全规则
                 .authorizeHttpRequests(authorize -> authorize
+                        // 直传签名与可续传会话占用存储侧状态并按记录校验归属，流式上传允许 2GB 且占用全局并发许可，均需要登录
+                        .requestMatchers("/api/files/stream", "/api/files/presign", "/api/files/presign/**",
+                                "/api/files/sessions", "/api/files/sessions/**")
+                        .authenticated()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/api/auth/login", "/api/auth/register", "/api/files/**")
                         .permitAll()
                         .anyRequest().authenticated())
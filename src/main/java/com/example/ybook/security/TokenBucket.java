@@ -0,0 +1,36 @@
+package com.example.ybook.security;
+
+/**
+ * <p>
+ * 令牌桶
+ * </p>
+ * 令牌按固定速率补充，最多累积到桶容量；取令牌时按需补充，无后台线程。
+ */
+class TokenBucket {
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(int capacity, long refillPeriodNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / Math.max(1, refillPeriodNanos);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 取一个令牌，桶已空时返回 false
+     */
+    synchronized boolean tryConsume() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
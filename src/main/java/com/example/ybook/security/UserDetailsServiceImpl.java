@@ -1,11 +1,15 @@
 package com.example.ybook.security;
 
+import com.example.ybook.cache.UserProfile;
+import com.example.ybook.cache.UserProfileCache;
 import com.example.ybook.entity.UserEntity;
-import com.example.ybook.service.UserService;
+import com.example.ybook.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,26 +21,48 @@ import java.util.List;
  * <p>
  * 用户详情服务实现
  * </p>
+ * 同时实现 {@link UserDetailsPasswordService}：登录成功且存储的哈希需要升级（如调高了 BCrypt 强度）时，
+ * DaoAuthenticationProvider 会以新哈希回调 {@link #updatePassword}。
  *
  * @author 柒
  * @since 2025-09-06
  */
+@Slf4j
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
-    private final UserService userService;
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    private final UserProfileCache userProfileCache;
+    private final UserMapper userMapper;
 
-    public UserDetailsServiceImpl(UserService userService) {
-        this.userService = userService;
+    public UserDetailsServiceImpl(UserProfileCache userProfileCache, UserMapper userMapper) {
+        this.userProfileCache = userProfileCache;
+        this.userMapper = userMapper;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity entity = userService.lambdaQuery().eq(UserEntity::getUsername, username).one();
-        if (entity == null) {
+        UserProfile profile = userProfileCache.getByUsername(username);
+        if (profile == null) {
             throw new UsernameNotFoundException("User not found");
         }
-        boolean enabled = entity.getStatus() == null || "1".equals(entity.getStatus());
         Collection<? extends GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
-        return new User(entity.getUsername(), entity.getPassword(), enabled, true, true, true, authorities);
+        return new User(profile.getUsername(), profile.getPassword(), profile.isEnabled(), true, true, true, authorities);
+    }
+
+    /**
+     * 保存按当前强度重新加密的密码哈希。凭证版本随之变化，其他设备上的旧令牌需重新登录
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserProfile profile = userProfileCache.getByUsername(user.getUsername());
+        if (profile == null) {
+            return user;
+        }
+        UserEntity entity = new UserEntity();
+        entity.setId(profile.getId());
+        entity.setPassword(newPassword);
+        userMapper.updateById(entity);
+        userProfileCache.invalidate(profile.getId());
+        log.info("Rehashed password of user {} with current encoder settings", profile.getId());
+        return User.withUserDetails(user).password(newPassword).build();
     }
 }
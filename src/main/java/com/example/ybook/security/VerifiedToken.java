@@ -0,0 +1,40 @@
+package com.example.ybook.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * <p>
+ * 已校验签名与有效期的 JWT 声明
+ * </p>
+ * 由 {@link JwtService#parse(String)} 一次解析得到，不可变，可在多个请求间复用。
+ */
+@Value
+public class VerifiedToken {
+
+    /**
+     * 用户ID；旧版令牌不含该声明时为 null
+     */
+    Long userId;
+
+    String username;
+
+    Set<String> roles;
+
+    /**
+     * 签发时的凭证版本
+     */
+    String credentialVersion;
+
+    Instant expiresAt;
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+
+    public CurrentUser toCurrentUser() {
+        return new CurrentUser(userId, username, roles);
+    }
+}
@@ -6,6 +6,8 @@ import com.example.ybook.dto.LoginResponse;
 import com.example.ybook.dto.UserCreateDTO;
 import com.example.ybook.vo.UserVO;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * <p>
  * 认证服务接口
@@ -15,7 +17,10 @@ import com.example.ybook.vo.UserVO;
  * @since 2025-09-06
  */
 public interface AuthService {
-    LoginResponse login(LoginRequestDTO request);
+    /**
+     * 限流检查后在登录线程池中校验密码并签发令牌；超频或线程池已满时直接抛出 TOO_MANY_REQUESTS
+     */
+    CompletableFuture<LoginResponse> login(LoginRequestDTO request, String clientIp);
     void changePassword(ChangePasswordRequestDTO request);
     UserVO register(UserCreateDTO request);
     UserVO getCurrentUserProfile();
@@ -2,6 +2,8 @@ package com.example.ybook.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.PageResult;
 import com.example.ybook.dto.CommentCreateDTO;
 import com.example.ybook.dto.CommentUpdateDTO;
@@ -36,14 +38,25 @@ public interface CommentService extends IService<CommentEntity> {
     
     /**
      * 根据笔记ID分页获取根评论列表
+     * @param countMode 总数统计模式，为 null 时使用接口配置
      */
-    PageResult<CommentVO> getRootCommentsByNoteId(Long noteId, int current, int size);
+    PageResult<CommentVO> getRootCommentsByNoteId(Long noteId, int current, int size, CountMode countMode);
     
     /**
      * 根据根评论ID分页获取回复列表（扁平化显示）
      */
     PageResult<CommentVO> getRepliesByRootCommentId(Long rootCommentId, int current, int size);
     
+    /**
+     * 根据笔记ID游标分页获取根评论列表（按时间倒序）
+     */
+    CursorResult<CommentVO> getRootCommentsByNoteIdCursor(Long noteId, String cursor, int size);
+    
+    /**
+     * 根据根评论ID游标分页获取回复列表（按时间正序）
+     */
+    CursorResult<CommentVO> getRepliesByRootCommentIdCursor(Long rootCommentId, String cursor, int size);
+    
     /**
      * 根据笔记ID获取评论统计信息
      */
@@ -1,7 +1,17 @@
 package com.example.ybook.service;
 
+import com.example.ybook.dto.PresignCompleteDTO;
+import com.example.ybook.dto.PresignUploadDTO;
+import com.example.ybook.dto.UploadSessionInitDTO;
+import com.example.ybook.vo.FileUploadResultVO;
+import com.example.ybook.vo.FileUploadVO;
+import com.example.ybook.vo.PresignedUploadVO;
+import com.example.ybook.vo.UploadSessionVO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * 文件上传服务接口
  *
@@ -11,10 +21,90 @@ import org.springframework.web.multipart.MultipartFile;
 public interface FileUploadService {
     
     /**
-     * 上传文件到MinIO
+     * 上传文件并返回文件信息，图片附带宽高并在后台生成缩略图
+     *
+     * @param file 上传的文件
+     * @return 文件信息
+     */
+    FileUploadVO upload(MultipartFile file);
+
+    /**
+     * 上传文件到MinIO；内容与已上传文件相同时直接返回已有文件的URL
      *
      * @param file 上传的文件
      * @return 文件访问URL
      */
     String uploadFile(MultipartFile file);
-}
\ No newline at end of file
+
+    /**
+     * 流式上传到MinIO：按固定大小分片边读边写，不落本地磁盘，内存占用不超过一个分片
+     *
+     * @param inputStream      文件内容，通常为请求体
+     * @param originalFilename 原始文件名，用于确定扩展名
+     * @param contentType      文件类型
+     * @param contentLength    文件大小，未知（chunked 请求）时为 -1
+     * @param sha256           客户端计算的内容 SHA-256，可为空；与实际内容不一致时拒绝上传
+     * @return 上传结果，size 为实际写入的字节数
+     */
+    FileUploadVO uploadStream(InputStream inputStream, String originalFilename, String contentType, long contentLength,
+                              String sha256);
+
+    /**
+     * 批量上传：同一请求内的文件并行上传（并发数受限），单个文件失败不影响其他文件
+     *
+     * @param files 上传的文件
+     * @return 每个文件的结果，顺序与 files 一致；图片附带宽高
+     */
+    List<FileUploadResultVO> uploadFiles(List<MultipartFile> files);
+
+    /**
+     * 创建可续传上传会话，服务端决定分片大小与分片数
+     *
+     * @param dto 文件名、类型与总大小
+     * @return 会话信息，missingChunks 为全部分片
+     */
+    UploadSessionVO createUploadSession(UploadSessionInitDTO dto);
+
+    /**
+     * 上传一个分片；同一分片可重复上传，以最后一次为准
+     *
+     * @param sessionId     会话ID
+     * @param index         分片序号，从0开始
+     * @param inputStream   分片内容
+     * @param contentLength 请求声明的长度，未知时为 -1
+     */
+    void uploadChunk(String sessionId, int index, InputStream inputStream, long contentLength);
+
+    /**
+     * 查询会话状态与尚未上传的分片，断线重连后据此续传
+     *
+     * @param sessionId 会话ID
+     * @return 会话信息
+     */
+    UploadSessionVO getUploadSession(String sessionId);
+
+    /**
+     * 全部分片上传后合并为最终文件；重复调用返回同一结果
+     *
+     * @param sessionId 会话ID
+     * @return 上传结果
+     */
+    FileUploadVO completeUploadSession(String sessionId);
+
+    /**
+     * 签发直传签名：预签名 PUT 地址与带大小、类型限制的 POST 策略，文件内容不经过应用服务器；
+     * 签名记录归属当前用户，过期未完成的对象由清理任务删除
+     *
+     * @param dto 文件名、类型与大小
+     * @return 签名信息
+     */
+    PresignedUploadVO presignUpload(PresignUploadDTO dto);
+
+    /**
+     * 直传完成回调：只接受当前用户签发且未过期的记录，校验对象大小、类型与签名时声明的一致，图片读取宽高并生成缩略图
+     *
+     * @param dto 签名时分配的对象名
+     * @return 上传结果
+     */
+    FileUploadVO completePresignedUpload(PresignCompleteDTO dto);
+}
@@ -2,6 +2,7 @@ package com.example.ybook.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.PageResult;
 import com.example.ybook.dto.NoteCreateDTO;
 import com.example.ybook.dto.NoteUpdateDTO;
@@ -30,6 +31,13 @@ public interface NoteService extends IService<NoteEntity> {
      */
     PageResult<NoteVO> pageNotesByUserId(Page<NoteEntity> page);
     
+    /**
+     * 游标分页获取用户的笔记列表
+     * @param cursor 上一页返回的游标，为空时从第一页开始
+     * @param size 每页数量
+     */
+    CursorResult<NoteVO> cursorNotesByUserId(String cursor, int size);
+    
     /**
      * 根据标签ID获取笔记列表
      */
@@ -0,0 +1,42 @@
+package com.example.ybook.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.PageResult;
+
+import java.util.List;
+
+/**
+ * 分页总数统计服务：按接口配置或请求参数决定是否统计总数、是否使用缓存总数
+ */
+public interface PageCountService {
+
+    String NOTES_PAGE = "notes-page";
+    String NOTES_SEARCH = "notes-search";
+    String NOTES_FAVORITES = "notes-favorites";
+    String NOTES_LIKES = "notes-likes";
+    String COMMENTS_ROOT = "comments-root";
+
+    /**
+     * 创建分页对象
+     * @param endpoint 接口标识
+     * @param requested 请求指定的统计模式，为 null 时使用接口配置
+     * @param current 当前页码
+     * @param size 每页数量
+     */
+    <T> Page<T> newPage(String endpoint, CountMode requested, long current, long size);
+
+    /**
+     * 在查询前应用缓存总数：命中时关闭本次 COUNT 查询并直接设置总数
+     * @param page 分页对象
+     * @param keyParts 区分查询条件的键（如用户ID、关键词）
+     */
+    void applyCachedCount(Page<?> page, Object... keyParts);
+
+    /**
+     * 根据查询后的分页对象构造分页结果，并按需回填总数缓存
+     * @param page 查询后的分页对象
+     * @param records 已转换的记录（NONE 模式下可能比每页数量多一条）
+     */
+    <R> PageResult<R> toPageResult(Page<?> page, List<R> records);
+}
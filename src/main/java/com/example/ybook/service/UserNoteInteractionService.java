@@ -1,6 +1,8 @@
 package com.example.ybook.service;
 
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CursorResult;
+import com.example.ybook.common.PageResult;
 import com.example.ybook.vo.InteractionStatusVO;
 import com.example.ybook.vo.NoteVO;
 
@@ -46,28 +48,36 @@ public interface UserNoteInteractionService {
      * @param userId 用户ID，如果为null则使用当前登录用户
      * @param pageNum 页码
      * @param pageSize 每页大小
+     * @param countMode 总数统计模式，为 null 时使用接口配置
      * @return 收藏的笔记列表
      */
-    Page<NoteVO> getUserFavoriteNotes(Long userId, int pageNum, int pageSize);
+    PageResult<NoteVO> getUserFavoriteNotes(Long userId, int pageNum, int pageSize, CountMode countMode);
     
     /**
      * 获取用户点赞的笔记列表（分页）
      * @param userId 用户ID，如果为null则使用当前登录用户
      * @param pageNum 页码
      * @param pageSize 每页大小
+     * @param countMode 总数统计模式，为 null 时使用接口配置
      * @return 点赞的笔记列表
      */
-    Page<NoteVO> getUserLikedNotes(Long userId, int pageNum, int pageSize);
+    PageResult<NoteVO> getUserLikedNotes(Long userId, int pageNum, int pageSize, CountMode countMode);
     
     /**
-     * 异步更新笔记的点赞计数
-     * @param noteId 笔记ID
+     * 游标分页获取用户收藏的笔记列表（按收藏时间倒序）
+     * @param userId 用户ID，如果为null则使用当前登录用户
+     * @param cursor 上一页返回的游标，为空时从第一页开始
+     * @param size 每页大小
+     * @return 收藏的笔记列表
      */
-    void updateLikeCountAsync(Long noteId);
+    CursorResult<NoteVO> getUserFavoriteNotesCursor(Long userId, String cursor, int size);
     
     /**
-     * 异步更新笔记的收藏计数
-     * @param noteId 笔记ID
+     * 游标分页获取用户点赞的笔记列表（按点赞时间倒序）
+     * @param userId 用户ID，如果为null则使用当前登录用户
+     * @param cursor 上一页返回的游标，为空时从第一页开始
+     * @param size 每页大小
+     * @return 点赞的笔记列表
      */
-    void updateFavoriteCountAsync(Long noteId);
+    CursorResult<NoteVO> getUserLikedNotesCursor(Long userId, String cursor, int size);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.ybook.service.impl;
 
+import com.example.ybook.cache.UserProfile;
+import com.example.ybook.cache.UserProfileCache;
 import com.example.ybook.common.ApiCode;
+import com.example.ybook.config.AsyncConfig;
 import com.example.ybook.dto.ChangePasswordRequestDTO;
 import com.example.ybook.dto.LoginRequestDTO;
 import com.example.ybook.dto.LoginResponse;
@@ -9,9 +12,11 @@ import com.example.ybook.entity.UserEntity;
 import com.example.ybook.exception.BizException;
 import com.example.ybook.security.CurrentUserContext;
 import com.example.ybook.security.JwtService;
+import com.example.ybook.security.LoginRateLimiter;
 import com.example.ybook.service.AuthService;
 import com.example.ybook.service.UserService;
 import com.example.ybook.vo.UserVO;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -21,11 +26,18 @@ import org.springframework.security.authentication.AccountExpiredException;
 import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
 /**
  * <p>
  * 认证服务实现
@@ -41,19 +53,37 @@ public class AuthServiceImpl implements AuthService {
     private final JwtService jwtService;
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final UserProfileCache userProfileCache;
+    private final LoginRateLimiter loginRateLimiter;
+    private final Executor loginExecutor;
 
     public AuthServiceImpl(AuthenticationManager authenticationManager,
                            JwtService jwtService,
                            UserService userService,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           UserProfileCache userProfileCache,
+                           LoginRateLimiter loginRateLimiter,
+                           @Qualifier(AsyncConfig.LOGIN_EXECUTOR) Executor loginExecutor) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
+        this.userProfileCache = userProfileCache;
+        this.loginRateLimiter = loginRateLimiter;
+        this.loginExecutor = loginExecutor;
     }
 
     @Override
-    public LoginResponse login(LoginRequestDTO request) {
+    public CompletableFuture<LoginResponse> login(LoginRequestDTO request, String clientIp) {
+        loginRateLimiter.acquire(request.getUsername(), clientIp);
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(request), loginExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new BizException(ApiCode.TOO_MANY_REQUESTS, "登录请求过多，请稍后重试");
+        }
+    }
+
+    private LoginResponse authenticate(LoginRequestDTO request) {
         Authentication authentication;
         try {
             authentication = authenticationManager.authenticate(
@@ -74,21 +104,27 @@ public class AuthServiceImpl implements AuthService {
             throw new BizException(ApiCode.UNAUTHORIZED, "认证失败");
         }
         UserDetails principal = (UserDetails) authentication.getPrincipal();
-        UserEntity entity = userService.lambdaQuery().eq(UserEntity::getUsername, principal.getUsername()).one();
-        if (entity != null && "0".equals(entity.getStatus())) {
+        UserProfile profile = userProfileCache.getByUsername(principal.getUsername());
+        if (profile == null) {
+            throw new BizException(ApiCode.LOGIN_FAILED);
+        }
+        if ("0".equals(profile.getStatus())) {
             throw new BizException(ApiCode.USER_DISABLED);
         }
-        String token = jwtService.generateToken(principal.getUsername());
+        Set<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        String token = jwtService.generateToken(profile, roles);
         return new LoginResponse(token);
     }
 
     @Override
     public void changePassword(ChangePasswordRequestDTO request) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails user)) {
+        Long userId = CurrentUserContext.getUserId();
+        if (userId == null) {
             throw new BizException(ApiCode.UNAUTHORIZED);
         }
-        UserEntity entity = userService.lambdaQuery().eq(UserEntity::getUsername, user.getUsername()).one();
+        UserEntity entity = userService.getById(userId);
         if (entity == null) {
             throw new BizException(ApiCode.USER_NOT_FOUND);
         }
@@ -97,6 +133,8 @@ public class AuthServiceImpl implements AuthService {
         }
         entity.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userService.updateById(entity);
+        // 凭证版本随密码变化，此前签发的令牌在缓存失效后不再通过认证
+        userProfileCache.invalidate(entity.getId());
     }
 
     @Override
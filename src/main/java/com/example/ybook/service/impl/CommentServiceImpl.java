@@ -2,28 +2,39 @@ package com.example.ybook.service.impl;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.ybook.cache.UserProfile;
+import com.example.ybook.cache.UserProfileCache;
 import com.example.ybook.common.ApiCode;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CursorCodec;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.PageResult;
 import com.example.ybook.converter.CommentConverter;
+import com.example.ybook.counter.CommentStatsAggregator;
 import com.example.ybook.dto.CommentCreateDTO;
 import com.example.ybook.dto.CommentUpdateDTO;
 import com.example.ybook.entity.CommentEntity;
-import com.example.ybook.entity.UserEntity;
 import com.example.ybook.exception.BizException;
 import com.example.ybook.mapper.CommentMapper;
 import com.example.ybook.mapper.NoteMapper;
-import com.example.ybook.mapper.UserMapper;
 import com.example.ybook.security.CurrentUserContext;
 import com.example.ybook.service.CommentService;
+import com.example.ybook.service.PageCountService;
 import com.example.ybook.vo.CommentListVO;
 import com.example.ybook.vo.CommentVO;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,14 +46,20 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
 
     private final CommentConverter commentConverter;
     private final NoteMapper noteMapper;
-    private final UserMapper userMapper;
+    private final UserProfileCache userProfileCache;
+    private final PageCountService pageCountService;
+    private final CommentStatsAggregator commentStatsAggregator;
 
     public CommentServiceImpl(CommentConverter commentConverter, 
                              NoteMapper noteMapper,
-                             UserMapper userMapper) {
+                             UserProfileCache userProfileCache,
+                             PageCountService pageCountService,
+                             CommentStatsAggregator commentStatsAggregator) {
         this.commentConverter = commentConverter;
         this.noteMapper = noteMapper;
-        this.userMapper = userMapper;
+        this.userProfileCache = userProfileCache;
+        this.pageCountService = pageCountService;
+        this.commentStatsAggregator = commentStatsAggregator;
     }
 
     @Override
@@ -90,8 +107,8 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
         // 保存评论
         baseMapper.insert(comment);
         
-        // 异步更新统计数据
-        asyncUpdateCommentStats(dto.getNoteId(), dto.getRootCommentId());
+        // 统计数据由聚合器在事务提交后合并更新
+        commentStatsAggregator.commentCreated(dto.getNoteId(), comment.getRootCommentId());
         
         return getCommentById(comment.getId());
     }
@@ -136,8 +153,8 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
         comment.setIsDeleted(1);
         baseMapper.updateById(comment);
         
-        // 异步更新统计数据
-        asyncUpdateCommentStats(comment.getNoteId(), comment.getRootCommentId());
+        // 统计数据由聚合器在事务提交后合并更新
+        commentStatsAggregator.commentDeleted(comment.getNoteId(), comment.getRootCommentId());
         
         return true;
     }
@@ -153,21 +170,14 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
     }
 
     @Override
-    public PageResult<CommentVO> getRootCommentsByNoteId(Long noteId, int current, int size) {
-        Page<CommentEntity> page = new Page<>(current, size);
+    public PageResult<CommentVO> getRootCommentsByNoteId(Long noteId, int current, int size, CountMode countMode) {
+        Page<CommentEntity> page = pageCountService.newPage(PageCountService.COMMENTS_ROOT, countMode, current, size);
+        pageCountService.applyCachedCount(page, noteId);
         Page<CommentEntity> commentPage = baseMapper.selectRootCommentsByNoteId(page, noteId);
         
-        List<CommentVO> commentVOs = commentPage.getRecords().stream()
-                .map(this::convertToVOWithDetails)
-                .collect(Collectors.toList());
+        List<CommentVO> commentVOs = convertToVOsWithDetails(commentPage.getRecords());
         
-        return PageResult.<CommentVO>builder()
-                .current(commentPage.getCurrent())
-                .size(commentPage.getSize())
-                .total(commentPage.getTotal())
-                .pages(commentPage.getPages())
-                .records(commentVOs)
-                .build();
+        return pageCountService.toPageResult(commentPage, commentVOs);
     }
 
     @Override
@@ -181,9 +191,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
         Page<CommentEntity> page = new Page<>(current, size);
         Page<CommentEntity> replyPage = baseMapper.selectRepliesByRootCommentId(page, rootCommentId);
         
-        List<CommentVO> replyVOs = replyPage.getRecords().stream()
-                .map(this::convertToVOWithDetails)
-                .collect(Collectors.toList());
+        List<CommentVO> replyVOs = convertToVOsWithDetails(replyPage.getRecords());
 
         return PageResult.<CommentVO>builder()
                 .current(replyPage.getCurrent())
@@ -194,6 +202,35 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
                 .build();
     }
 
+    @Override
+    public CursorResult<CommentVO> getRootCommentsByNoteIdCursor(Long noteId, String cursor, int size) {
+        int limit = CursorResult.fetchLimit(size);
+        // 游标依次为 create_time、id
+        String[] keys = CursorCodec.decode(cursor, 2);
+        List<CommentEntity> rows = keys == null
+                ? baseMapper.selectRootCommentsByNoteIdAfter(noteId, null, null, limit)
+                : baseMapper.selectRootCommentsByNoteIdAfter(noteId,
+                        CursorCodec.parseDateTime(keys[0]), CursorCodec.parseLong(keys[1]), limit);
+        return toCommentCursorResult(rows, size);
+    }
+
+    @Override
+    public CursorResult<CommentVO> getRepliesByRootCommentIdCursor(Long rootCommentId, String cursor, int size) {
+        int limit = CursorResult.fetchLimit(size);
+        // 验证根评论是否存在
+        CommentEntity rootComment = baseMapper.selectById(rootCommentId);
+        if (rootComment == null || rootComment.getIsDeleted() == 1) {
+            throw new BizException(ApiCode.ROOT_COMMENT_NOT_FOUND);
+        }
+
+        String[] keys = CursorCodec.decode(cursor, 2);
+        List<CommentEntity> rows = keys == null
+                ? baseMapper.selectRepliesByRootCommentIdAfter(rootCommentId, null, null, limit)
+                : baseMapper.selectRepliesByRootCommentIdAfter(rootCommentId,
+                        CursorCodec.parseDateTime(keys[0]), CursorCodec.parseLong(keys[1]), limit);
+        return toCommentCursorResult(rows, size);
+    }
+
     @Override
     public CommentListVO getCommentStatsByNoteId(Long noteId) {
         CommentListVO result = new CommentListVO();
@@ -214,9 +251,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
         Page<CommentEntity> page = new Page<>(current, size);
         Page<CommentEntity> commentPage = baseMapper.selectCommentsByUserId(page, userId);
         
-        List<CommentVO> commentVOs = commentPage.getRecords().stream()
-                .map(this::convertToVOWithDetails)
-                .collect(Collectors.toList());
+        List<CommentVO> commentVOs = convertToVOsWithDetails(commentPage.getRecords());
         
         return PageResult.<CommentVO>builder()
                 .current(commentPage.getCurrent())
@@ -240,37 +275,61 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
         log.info("软删除笔记{}的所有评论", noteId);
     }
 
+    /**
+     * 将多取一条的游标查询结果转换为游标分页结果
+     */
+    private CursorResult<CommentVO> toCommentCursorResult(List<CommentEntity> rows, int size) {
+        CursorResult<CommentEntity> entityResult = CursorResult.of(rows, size,
+                comment -> CursorCodec.encode(comment.getCreateTime(), comment.getId()));
+        List<CommentVO> commentVOs = convertToVOsWithDetails(entityResult.getRecords());
+        return CursorResult.<CommentVO>builder()
+                .size(entityResult.getSize())
+                .hasNext(entityResult.isHasNext())
+                .nextCursor(entityResult.getNextCursor())
+                .records(commentVOs)
+                .build();
+    }
+
     /**
      * 转换为VO并填充详细信息（用户信息、回复上下文等）
      */
     private CommentVO convertToVOWithDetails(CommentEntity comment) {
-        CommentVO commentVO = commentConverter.toVO(comment);
-        
-        // 填充评论用户信息
-        UserEntity user = userMapper.selectById(comment.getUserId());
-        if (user != null) {
-            CommentVO.UserInfo userInfo = new CommentVO.UserInfo();
-            userInfo.setId(user.getId());
-            userInfo.setUsername(user.getUsername());
-            userInfo.setNickname(user.getNickname());
-            userInfo.setAvatar(user.getAvatar());
-            commentVO.setUser(userInfo);
+        return convertToVOsWithDetails(List.of(comment)).get(0);
+    }
+
+    /**
+     * 批量转换为VO并填充详细信息：整页评论的被回复评论、用户信息各用一次 IN 查询加载
+     */
+    private List<CommentVO> convertToVOsWithDetails(List<CommentEntity> comments) {
+        if (comments.isEmpty()) {
+            return new ArrayList<>();
         }
         
-        // 如果是回复评论，填充被回复的评论信息
-        if (comment.getReplyToCommentId() != null) {
-            CommentEntity replyToComment = baseMapper.selectReplyToComment(comment.getReplyToCommentId());
+        // 加载被回复的评论
+        Set<Long> replyToCommentIds = comments.stream()
+                .map(CommentEntity::getReplyToCommentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, CommentEntity> replyToComments = replyToCommentIds.isEmpty() ? Collections.emptyMap()
+                : baseMapper.selectReplyToComments(replyToCommentIds).stream()
+                        .collect(Collectors.toMap(CommentEntity::getId, Function.identity()));
+        
+        // 加载评论用户和被回复用户
+        Set<Long> userIds = new HashSet<>();
+        comments.forEach(comment -> userIds.add(comment.getUserId()));
+        replyToComments.values().forEach(replyToComment -> userIds.add(replyToComment.getUserId()));
+        Map<Long, CommentVO.UserInfo> userInfos = loadUserInfos(userIds);
+        
+        List<CommentVO> commentVOs = new ArrayList<>(comments.size());
+        for (CommentEntity comment : comments) {
+            CommentVO commentVO = commentConverter.toVO(comment);
+            commentVO.setUser(userInfos.get(comment.getUserId()));
+            
+            // 如果是回复评论，填充被回复的评论信息
+            CommentEntity replyToComment = comment.getReplyToCommentId() == null ? null
+                    : replyToComments.get(comment.getReplyToCommentId());
             if (replyToComment != null) {
-                // 填充被回复用户信息
-                UserEntity replyToUser = userMapper.selectById(replyToComment.getUserId());
-                if (replyToUser != null) {
-                    CommentVO.UserInfo replyToUserInfo = new CommentVO.UserInfo();
-                    replyToUserInfo.setId(replyToUser.getId());
-                    replyToUserInfo.setUsername(replyToUser.getUsername());
-                    replyToUserInfo.setNickname(replyToUser.getNickname());
-                    replyToUserInfo.setAvatar(replyToUser.getAvatar());
-                    commentVO.setReplyToUser(replyToUserInfo);
-                }
+                commentVO.setReplyToUser(userInfos.get(replyToComment.getUserId()));
                 
                 // 填充被回复的评论内容（截取前50个字符作为上下文）
                 String replyToContent = replyToComment.getContent();
@@ -279,34 +338,31 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, CommentEntity
                 }
                 commentVO.setReplyToContent(replyToContent);
             }
+            
+            // TODO: 设置当前用户是否点赞此评论
+            commentVO.setIsLiked(false);
+            commentVOs.add(commentVO);
         }
-        
-        // TODO: 设置当前用户是否点赞此评论
-        commentVO.setIsLiked(false);
-        
-        return commentVO;
+        return commentVOs;
     }
 
     /**
-     * 异步更新评论统计数据
+     * 批量加载用户展示信息，优先读取用户资料缓存，未命中的用户合并为一次查询
      */
-    @Async
-    protected void asyncUpdateCommentStats(Long noteId, Long rootCommentId) {
-        try {
-            // 更新笔记的评论数量
-            Integer noteCommentCount = baseMapper.countAllCommentsByNoteId(noteId);
-            noteMapper.updateById(new com.example.ybook.entity.NoteEntity() {{
-                setId(noteId);
-                setCommentCount(noteCommentCount);
-            }});
-            
-            // 如果是回复评论，更新根评论的回复数量
-            if (rootCommentId != null) {
-                Integer replyCount = baseMapper.countRepliesByRootCommentId(rootCommentId);
-                baseMapper.updateRootCommentReplyCount(rootCommentId, replyCount);
-            }
-        } catch (Exception e) {
-            log.error("更新评论统计数据失败: noteId={}, rootCommentId={}", noteId, rootCommentId, e);
+    private Map<Long, CommentVO.UserInfo> loadUserInfos(Set<Long> userIds) {
+        userIds.remove(null);
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, CommentVO.UserInfo> userInfos = new HashMap<>();
+        for (UserProfile user : userProfileCache.getAllByIds(userIds).values()) {
+            CommentVO.UserInfo userInfo = new CommentVO.UserInfo();
+            userInfo.setId(user.getId());
+            userInfo.setUsername(user.getUsername());
+            userInfo.setNickname(user.getNickname());
+            userInfo.setAvatar(user.getAvatar());
+            userInfos.put(user.getId(), userInfo);
         }
+        return userInfos;
     }
 }
\ No newline at end of file
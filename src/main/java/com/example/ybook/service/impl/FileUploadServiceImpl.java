@@ -1,18 +1,65 @@
 package com.example.ybook.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.example.ybook.common.ApiCode;
-import com.example.ybook.config.MinioConfig;
+import com.example.ybook.common.ImageDimensions;
+import com.example.ybook.common.SizeLimitedInputStream;
+import com.example.ybook.config.AsyncConfig;
+import com.example.ybook.config.UploadProperties;
+import com.example.ybook.dto.PresignCompleteDTO;
+import com.example.ybook.dto.PresignUploadDTO;
+import com.example.ybook.dto.UploadSessionInitDTO;
+import com.example.ybook.entity.FileObjectEntity;
+import com.example.ybook.entity.PresignedUploadEntity;
+import com.example.ybook.entity.UploadSessionEntity;
 import com.example.ybook.exception.BizException;
+import com.example.ybook.image.ImageVariants;
+import com.example.ybook.mapper.FileObjectMapper;
+import com.example.ybook.mapper.PresignedUploadMapper;
+import com.example.ybook.mapper.UploadSessionMapper;
+import com.example.ybook.security.CurrentUserContext;
 import com.example.ybook.service.FileUploadService;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
+import com.example.ybook.storage.ObjectStorage;
+import com.example.ybook.storage.StoredObject;
+import com.example.ybook.storage.StoredPart;
+import com.example.ybook.vo.FileUploadResultVO;
+import com.example.ybook.vo.FileUploadVO;
+import com.example.ybook.vo.PresignedUploadVO;
+import com.example.ybook.vo.UploadSessionVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 文件上传服务实现类
@@ -24,12 +71,67 @@ import java.util.UUID;
 @Service
 public class FileUploadServiceImpl implements FileUploadService {
 
-    private final MinioClient minioClient;
-    private final MinioConfig minioConfig;
+    /**
+     * S3 单次分片上传允许的最大分片数
+     */
+    private static final int MAX_PARTS = 10000;
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-fA-F]{64}");
+
+    /**
+     * 对象名保留的扩展名格式，其他扩展名（含路径分隔符、点等）直接丢弃
+     */
+    private static final Pattern FILE_EXTENSION = Pattern.compile("[A-Za-z0-9]{1,16}");
+
+    /**
+     * 直传对象名格式（日期目录 + UUID + 可选扩展名），完成回调只接受该格式的对象
+     */
+    private static final Pattern PRESIGNED_OBJECT_NAME = Pattern.compile(
+            "\\d{4}/\\d{2}/\\d{2}/[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[A-Za-z0-9]{1,16})?");
 
-    public FileUploadServiceImpl(MinioClient minioClient, MinioConfig minioConfig) {
-        this.minioClient = minioClient;
-        this.minioConfig = minioConfig;
+    /**
+     * 读取图片尺寸时只下载的头部字节数
+     */
+    private static final long IMAGE_HEADER_BYTES = 256 * 1024;
+
+    private final ObjectStorage objectStorage;
+    private final UploadProperties uploadProperties;
+
+    /**
+     * 流式上传并发许可，每个上传最多占用一个分片的内存
+     */
+    private final Semaphore streamPermits;
+
+    private final Executor uploadExecutor;
+    private final UploadSessionMapper uploadSessionMapper;
+    private final ImageVariants imageVariants;
+    private final FileObjectMapper fileObjectMapper;
+    private final PresignedUploadMapper presignedUploadMapper;
+
+    /**
+     * 因内容相同而复用已有对象的上传次数
+     */
+    private final Counter deduplicatedCounter;
+
+    public FileUploadServiceImpl(ObjectStorage objectStorage,
+                                 UploadProperties uploadProperties,
+                                 @Qualifier(AsyncConfig.UPLOAD_EXECUTOR) Executor uploadExecutor,
+                                 UploadSessionMapper uploadSessionMapper,
+                                 ImageVariants imageVariants,
+                                 FileObjectMapper fileObjectMapper,
+                                 PresignedUploadMapper presignedUploadMapper,
+                                 MeterRegistry meterRegistry) {
+        this.objectStorage = objectStorage;
+        this.uploadProperties = uploadProperties;
+        this.streamPermits = new Semaphore(uploadProperties.getMaxConcurrentStreams());
+        this.uploadExecutor = uploadExecutor;
+        this.uploadSessionMapper = uploadSessionMapper;
+        this.imageVariants = imageVariants;
+        this.fileObjectMapper = fileObjectMapper;
+        this.presignedUploadMapper = presignedUploadMapper;
+        this.deduplicatedCounter = Counter.builder("ybook.upload.deduplicated")
+                .description("内容与已有文件相同、未重复写入存储的上传数")
+                .register(meterRegistry);
     }
 
     @Override
@@ -46,24 +148,39 @@ public class FileUploadServiceImpl implements FileUploadService {
                 throw new BizException(ApiCode.FILE_NAME_EMPTY);
             }
 
-            String extension = getFileExtension(originalFilename);
-            
-            // 生成唯一文件名 (按日期分目录)
-            String dateFolder = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String fileName = dateFolder + "/" + UUID.randomUUID() + extension;
-
-            // 上传文件到MinIO
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(minioConfig.getBucketName())
-                            .object(fileName)
-                            .stream(file.getInputStream(), file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
+            // 先计算内容哈希，相同内容直接返回已有对象，不再写入存储
+            String sha256 = null;
+            if (uploadProperties.isDedupEnabled()) {
+                try (InputStream inputStream = file.getInputStream()) {
+                    sha256 = sha256(inputStream);
+                }
+                FileObjectEntity existing = fileObjectMapper.selectById(sha256);
+                if (existing != null) {
+                    deduplicatedCounter.increment();
+                    String fileUrl = objectStorage.objectUrl(existing.getObjectName());
+                    log.info("文件内容已存在，复用: {} -> {}", originalFilename, fileUrl);
+                    return fileUrl;
+                }
+            }
+
+            String fileName = newObjectName(originalFilename);
+
+            // 上传文件到对象存储
+            try (InputStream inputStream = file.getInputStream()) {
+                objectStorage.putObject(fileName, inputStream, file.getSize(), file.getContentType());
+            }
+
+            if (sha256 != null) {
+                String registered = register(sha256, fileName, file.getSize(), file.getContentType());
+                if (!registered.equals(fileName)) {
+                    deleteQuietly(fileName);
+                    return objectStorage.objectUrl(registered);
+                }
+            }
+            generateVariants(fileName, file.getContentType());
 
             // 返回可访问的URL
-            String fileUrl = minioConfig.getEndpoint() + "/" + minioConfig.getBucketName() + "/" + fileName;
+            String fileUrl = objectStorage.objectUrl(fileName);
             
             log.info("文件上传成功: {} -> {}", originalFilename, fileUrl);
             return fileUrl;
@@ -74,14 +191,584 @@ public class FileUploadServiceImpl implements FileUploadService {
         }
     }
 
+    @Override
+    public FileUploadVO upload(MultipartFile file) {
+        String fileUrl = uploadFile(file);
+        ImageDimensions dimensions = readDimensions(file);
+        return FileUploadVO.builder()
+                .url(fileUrl)
+                .originalFileName(file.getOriginalFilename())
+                .size(file.getSize())
+                .contentType(file.getContentType())
+                .width(dimensions == null ? null : dimensions.getWidth())
+                .height(dimensions == null ? null : dimensions.getHeight())
+                .build();
+    }
+
+    @Override
+    public FileUploadVO uploadStream(InputStream inputStream, String originalFilename, String contentType,
+                                     long contentLength, String sha256) {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            throw new BizException(ApiCode.FILE_NAME_EMPTY);
+        }
+        if (contentLength == 0) {
+            throw new BizException(ApiCode.FILE_EMPTY);
+        }
+        long maxSize = uploadProperties.getMaxStreamSize().toBytes();
+        if (contentLength > maxSize) {
+            throw new BizException(ApiCode.FILE_SIZE_EXCEEDED);
+        }
+        if (sha256 != null && !SHA256_HEX.matcher(sha256).matches()) {
+            throw new BizException(ApiCode.PARAM_INVALID, "sha256 格式不正确");
+        }
+        // 只用于校验内容；不凭客户端声明的哈希返回已有文件，否则知道哈希即可取得他人文件的地址
+        String expectedSha256 = sha256 == null ? null : sha256.toLowerCase(Locale.ROOT);
+        if (!streamPermits.tryAcquire()) {
+            throw new BizException(ApiCode.TOO_MANY_REQUESTS, "同时上传的文件过多，请稍后重试");
+        }
+        try {
+            String fileName = newObjectName(originalFilename);
+            // 长度未知时按读取量限制大小
+            SizeLimitedInputStream body = new SizeLimitedInputStream(inputStream, maxSize);
+            // 边上传边计算哈希，不额外读取一遍
+            DigestInputStream digestStream = new DigestInputStream(body, newSha256Digest());
+            objectStorage.putObject(fileName, digestStream, contentLength, contentType);
+            if (body.getCount() == 0) {
+                deleteQuietly(fileName);
+                throw new BizException(ApiCode.FILE_EMPTY);
+            }
+            String actualSha256 = HexFormat.of().formatHex(digestStream.getMessageDigest().digest());
+            if (expectedSha256 != null && !expectedSha256.equals(actualSha256)) {
+                deleteQuietly(fileName);
+                throw new BizException(ApiCode.PARAM_INVALID, "文件内容与 sha256 不一致");
+            }
+
+            // 流式上传无法预先知道哈希，内容重复时保留已有对象并删除刚写入的副本
+            String objectName = uploadProperties.isDedupEnabled()
+                    ? register(actualSha256, fileName, body.getCount(), contentType)
+                    : fileName;
+            if (objectName.equals(fileName)) {
+                generateVariants(fileName, contentType);
+            } else {
+                deleteQuietly(fileName);
+            }
+
+            String fileUrl = objectStorage.objectUrl(objectName);
+            log.info("流式上传成功: {} ({} bytes) -> {}", originalFilename, body.getCount(), fileUrl);
+            return FileUploadVO.builder()
+                    .url(fileUrl)
+                    .originalFileName(originalFilename)
+                    .size(body.getCount())
+                    .contentType(contentType)
+                    .build();
+        } catch (BizException e) {
+            throw e;
+        } catch (Exception e) {
+            if (e.getCause() instanceof BizException bizException) {
+                throw bizException;
+            }
+            log.error("流式上传失败: {}", e.getMessage(), e);
+            throw new BizException(ApiCode.FILE_UPLOAD_FAILED, e.getMessage());
+        } finally {
+            streamPermits.release();
+        }
+    }
+
+    @Override
+    public List<FileUploadResultVO> uploadFiles(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new BizException(ApiCode.FILE_EMPTY);
+        }
+        if (files.size() > uploadProperties.getMaxBatchFiles()) {
+            throw new BizException(ApiCode.PARAM_INVALID, "一次最多上传 " + uploadProperties.getMaxBatchFiles() + " 个文件");
+        }
+
+        // 每个请求最多占用 batchConcurrency 个上传线程，避免单个大批量请求占满线程池
+        Semaphore slots = new Semaphore(uploadProperties.getBatchConcurrency());
+        List<CompletableFuture<FileUploadResultVO>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            int index = i;
+            MultipartFile file = files.get(i);
+            slots.acquireUninterruptibly();
+            futures.add(CompletableFuture.supplyAsync(() -> uploadOne(index, file), uploadExecutor)
+                    .whenComplete((result, ex) -> slots.release()));
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    /**
+     * 上传单个文件并读取图片尺寸，失败时返回失败结果而不抛出异常
+     */
+    private FileUploadResultVO uploadOne(int index, MultipartFile file) {
+        try {
+            return FileUploadResultVO.builder().index(index).success(true).file(upload(file)).build();
+        } catch (RuntimeException e) {
+            return FileUploadResultVO.builder().index(index).success(false).message(e.getMessage()).build();
+        }
+    }
+
+    private ImageDimensions readDimensions(MultipartFile file) {
+        if (!isImage(file.getContentType())) {
+            return null;
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            return ImageDimensions.readQuietly(inputStream);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public UploadSessionVO createUploadSession(UploadSessionInitDTO dto) {
+        Long userId = CurrentUserContext.requireUserId();
+        long totalSize = dto.getTotalSize();
+        if (totalSize > uploadProperties.getMaxStreamSize().toBytes()) {
+            throw new BizException(ApiCode.FILE_SIZE_EXCEEDED);
+        }
+        long chunkSize = Math.max(uploadProperties.getChunkSize().toBytes(), Math.ceilDiv(totalSize, MAX_PARTS));
+        int chunkCount = (int) Math.ceilDiv(totalSize, chunkSize);
+        String contentType = dto.getContentType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : dto.getContentType();
+        String objectName = newObjectName(dto.getFilename());
+
+        String uploadId;
+        try {
+            uploadId = objectStorage.createMultipartUpload(objectName, contentType);
+        } catch (Exception e) {
+            log.error("创建分片上传失败: {}", e.getMessage(), e);
+            throw new BizException(ApiCode.FILE_UPLOAD_FAILED, e.getMessage());
+        }
+
+        UploadSessionEntity session = new UploadSessionEntity();
+        session.setId(UUID.randomUUID().toString().replace("-", ""));
+        session.setUserId(userId);
+        session.setObjectName(objectName);
+        session.setOriginalFilename(dto.getFilename());
+        session.setContentType(contentType);
+        session.setTotalSize(totalSize);
+        session.setChunkSize(chunkSize);
+        session.setChunkCount(chunkCount);
+        session.setUploadId(uploadId);
+        session.setStatus(UploadSessionEntity.STATUS_UPLOADING);
+        session.setExpireTime(LocalDateTime.now().plus(uploadProperties.getSessionTtl()));
+        uploadSessionMapper.insert(session);
+
+        log.info("创建上传会话: {} ({} bytes, {} 片) -> {}", session.getId(), totalSize, chunkCount, objectName);
+        return toSessionVO(session, IntStream.range(0, chunkCount).boxed().collect(Collectors.toList()));
+    }
+
+    @Override
+    public void uploadChunk(String sessionId, int index, InputStream inputStream, long contentLength) {
+        UploadSessionEntity session = requireSession(sessionId);
+        if (session.getStatus() == UploadSessionEntity.STATUS_COMPLETED) {
+            throw new BizException(ApiCode.PARAM_INVALID, "上传已完成");
+        }
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw new BizException(ApiCode.PARAM_INVALID, "分片序号超出范围");
+        }
+        int expected = Math.toIntExact(chunkLength(session, index + 1));
+        if (contentLength >= 0 && contentLength != expected) {
+            throw new BizException(ApiCode.PARAM_INVALID, "分片大小应为 " + expected + " 字节");
+        }
+        if (!streamPermits.tryAcquire()) {
+            throw new BizException(ApiCode.TOO_MANY_REQUESTS, "同时上传的文件过多，请稍后重试");
+        }
+        try {
+            byte[] data = inputStream.readNBytes(expected);
+            if (data.length != expected || inputStream.read() != -1) {
+                throw new BizException(ApiCode.PARAM_INVALID, "分片大小应为 " + expected + " 字节");
+            }
+            // 分片号从1开始；同一分片重复上传时以最后一次为准
+            objectStorage.uploadPart(session.getObjectName(), session.getUploadId(), index + 1, data);
+        } catch (BizException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("分片上传失败: {}#{}: {}", sessionId, index, e.getMessage(), e);
+            throw new BizException(ApiCode.FILE_UPLOAD_FAILED, e.getMessage());
+        } finally {
+            streamPermits.release();
+        }
+    }
+
+    @Override
+    public UploadSessionVO getUploadSession(String sessionId) {
+        UploadSessionEntity session = requireSession(sessionId);
+        if (session.getStatus() == UploadSessionEntity.STATUS_COMPLETED) {
+            return toSessionVO(session, null);
+        }
+        try {
+            return toSessionVO(session, missingChunks(session, uploadedParts(session)));
+        } catch (Exception e) {
+            log.error("查询分片失败: {}: {}", sessionId, e.getMessage(), e);
+            throw new BizException(ApiCode.FILE_UPLOAD_FAILED, e.getMessage());
+        }
+    }
+
+    @Override
+    public FileUploadVO completeUploadSession(String sessionId) {
+        UploadSessionEntity session = requireSession(sessionId);
+        if (session.getStatus() == UploadSessionEntity.STATUS_COMPLETED) {
+            return toFileUploadVO(session);
+        }
+        try {
+            Map<Integer, StoredPart> uploaded = uploadedParts(session);
+            List<Integer> missing = missingChunks(session, uploaded);
+            if (!missing.isEmpty()) {
+                throw new BizException(ApiCode.UPLOAD_CHUNKS_INCOMPLETE, "仍有 " + missing.size() + " 个分片未上传");
+            }
+            List<StoredPart> parts = IntStream.rangeClosed(1, session.getChunkCount())
+                    .mapToObj(uploaded::get)
+                    .collect(Collectors.toList());
+            objectStorage.completeMultipartUpload(session.getObjectName(), session.getUploadId(), parts);
+        } catch (BizException e) {
+            throw e;
+        } catch (Exception e) {
+            // 并发完成时其他节点可能已经合并，uploadId 随之失效
+            UploadSessionEntity latest = uploadSessionMapper.selectById(sessionId);
+            if (latest != null && latest.getStatus() == UploadSessionEntity.STATUS_COMPLETED) {
+                return toFileUploadVO(latest);
+            }
+            log.error("合并分片失败: {}: {}", sessionId, e.getMessage(), e);
+            throw new BizException(ApiCode.FILE_UPLOAD_FAILED, e.getMessage());
+        }
+
+        UploadSessionEntity completed = new UploadSessionEntity();
+        completed.setId(sessionId);
+        completed.setStatus(UploadSessionEntity.STATUS_COMPLETED);
+        uploadSessionMapper.updateById(completed);
+        generateVariants(session.getObjectName(), session.getContentType());
+
+        FileUploadVO uploadVO = toFileUploadVO(session);
+        log.info("上传会话完成: {} -> {}", sessionId, uploadVO.getUrl());
+        return uploadVO;
+    }
+
+    @Override
+    public PresignedUploadVO presignUpload(PresignUploadDTO dto) {
+        Long userId = CurrentUserContext.requireUserId();
+        if (!isPresignAllowed(dto.getContentType())) {
+            throw new BizException(ApiCode.FILE_TYPE_NOT_SUPPORTED);
+        }
+        long maxSize = uploadProperties.getMaxStreamSize().toBytes();
+        if (dto.getSize() > maxSize) {
+            throw new BizException(ApiCode.FILE_SIZE_EXCEEDED);
+        }
+        String objectName = newObjectName(dto.getFilename());
+        ZonedDateTime expiration = ZonedDateTime.now().plus(uploadProperties.getPresignExpiry());
+        try {
+            String putUrl = objectStorage.presignPut(objectName, uploadProperties.getPresignExpiry());
+
+            // POST 策略由存储强制校验对象名、类型与大小；预签名 PUT 无法限制，留到完成回调对照签名记录检查
+            Map<String, String> formData = new HashMap<>(
+                    objectStorage.presignPost(objectName, dto.getContentType(), dto.getSize(), expiration));
+            formData.put("key", objectName);
+            formData.put("Content-Type", dto.getContentType());
+
+            PresignedUploadEntity record = new PresignedUploadEntity();
+            record.setObjectName(objectName);
+            record.setUserId(userId);
+            record.setContentType(dto.getContentType());
+            record.setSize(dto.getSize());
+            record.setStatus(PresignedUploadEntity.STATUS_PENDING);
+            record.setExpireTime(expiration.toLocalDateTime().plus(uploadProperties.getPresignCompleteTimeout()));
+            presignedUploadMapper.insert(record);
+
+            log.info("签发直传签名: {} ({} bytes) -> {}", dto.getFilename(), dto.getSize(), objectName);
+            return PresignedUploadVO.builder()
+                    .objectName(objectName)
+                    .url(objectStorage.objectUrl(objectName))
+                    .putUrl(putUrl)
+                    .postUrl(objectStorage.presignPostUrl())
+                    .formData(formData)
+                    .expireTime(expiration.toLocalDateTime())
+                    .build();
+        } catch (UnsupportedOperationException e) {
+            throw new BizException(ApiCode.FILE_STORAGE_UNSUPPORTED, "当前存储不支持直传");
+        } catch (Exception e) {
+            log.error("签发直传签名失败: {}", e.getMessage(), e);
+            throw new BizException(ApiCode.FILE_UPLOAD_FAILED, e.getMessage());
+        }
+    }
+
+    @Override
+    public FileUploadVO completePresignedUpload(PresignCompleteDTO dto) {
+        String objectName = dto.getObjectName();
+        if (!PRESIGNED_OBJECT_NAME.matcher(objectName).matches()) {
+            throw new BizException(ApiCode.PARAM_INVALID, "对象名不正确");
+        }
+        // 只处理本人签发且未过期的记录，不暴露他人的对象是否存在
+        PresignedUploadEntity record = presignedUploadMapper.selectById(objectName);
+        if (record == null || !record.getUserId().equals(CurrentUserContext.requireUserId())
+                || record.getExpireTime().isBefore(LocalDateTime.now())) {
+            throw new BizException(ApiCode.FILE_NOT_FOUND, "直传记录不存在");
+        }
+        StoredObject stat;
+        try {
+            stat = objectStorage.statObject(objectName);
+        } catch (Exception e) {
+            log.error("查询直传对象失败: {}", objectName, e);
+            throw new BizException(ApiCode.FILE_UPLOAD_FAILED, e.getMessage());
+        }
+        if (stat == null) {
+            throw new BizException(ApiCode.FILE_NOT_FOUND, "文件尚未上传");
+        }
+
+        if (record.getStatus() == PresignedUploadEntity.STATUS_PENDING) {
+            // 预签名 PUT 不限制大小与类型，与签名时声明不一致的对象直接删除，记录留给清理任务
+            if (stat.getSize() != record.getSize()) {
+                deleteQuietly(objectName);
+                throw new BizException(ApiCode.FILE_SIZE_EXCEEDED, "文件大小与签名时声明的不一致");
+            }
+            if (!record.getContentType().equalsIgnoreCase(stat.getContentType())) {
+                deleteQuietly(objectName);
+                throw new BizException(ApiCode.FILE_TYPE_NOT_SUPPORTED, "文件类型与签名时声明的不一致");
+            }
+            // 条件更新保证并发或重复回调只有一次生成缩略图
+            boolean completed = presignedUploadMapper.update(null, new LambdaUpdateWrapper<PresignedUploadEntity>()
+                    .set(PresignedUploadEntity::getStatus, PresignedUploadEntity.STATUS_COMPLETED)
+                    .eq(PresignedUploadEntity::getObjectName, objectName)
+                    .eq(PresignedUploadEntity::getStatus, PresignedUploadEntity.STATUS_PENDING)
+                    .gt(PresignedUploadEntity::getExpireTime, LocalDateTime.now())) > 0;
+            if (completed) {
+                generateVariants(objectName, stat.getContentType());
+            }
+        }
+
+        ImageDimensions dimensions = isImage(stat.getContentType()) ? readObjectDimensions(objectName) : null;
+        log.info("直传完成: {} ({} bytes)", objectName, stat.getSize());
+        return FileUploadVO.builder()
+                .url(objectStorage.objectUrl(objectName))
+                .originalFileName(dto.getOriginalFilename())
+                .size(stat.getSize())
+                .contentType(stat.getContentType())
+                .width(dimensions == null ? null : dimensions.getWidth())
+                .height(dimensions == null ? null : dimensions.getHeight())
+                .build();
+    }
+
+    /**
+     * 清理过期会话：中止未完成的分片上传以释放存储中的分片，再删除会话记录。
+     * 多个节点同时清理时，后到的节点中止时上传已不存在，按已清理处理。
+     */
+    @Scheduled(fixedDelayString = "${ybook.upload.session-cleanup-interval:10m}",
+            initialDelayString = "${ybook.upload.session-cleanup-interval:10m}")
+    public void cleanExpiredUploadSessions() {
+        int batchSize = uploadProperties.getSessionCleanupBatchSize();
+        List<UploadSessionEntity> expired;
+        int removed;
+        do {
+            expired = uploadSessionMapper.selectList(new LambdaQueryWrapper<UploadSessionEntity>()
+                    .lt(UploadSessionEntity::getExpireTime, LocalDateTime.now())
+                    .orderByAsc(UploadSessionEntity::getExpireTime)
+                    .last("LIMIT " + batchSize));
+            removed = 0;
+            for (UploadSessionEntity session : expired) {
+                if (session.getStatus() == UploadSessionEntity.STATUS_COMPLETED || abortQuietly(session)) {
+                    uploadSessionMapper.deleteById(session.getId());
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                log.info("清理过期上传会话 {} 个", removed);
+            }
+            // 有中止失败的会话时留到下一轮，避免反复查到同一批
+        } while (expired.size() == batchSize && removed == expired.size());
+    }
+
+    /**
+     * 清理过期的直传记录：未完成的先删除已上传的对象，再删除记录；已完成的只删除记录。
+     * 完成回调只接受未过期的记录，清理与回调不会同时处理同一个对象。
+     */
+    @Scheduled(fixedDelayString = "${ybook.upload.session-cleanup-interval:10m}",
+            initialDelayString = "${ybook.upload.session-cleanup-interval:10m}")
+    public void cleanExpiredPresignedUploads() {
+        int batchSize = uploadProperties.getSessionCleanupBatchSize();
+        List<PresignedUploadEntity> expired;
+        int removed;
+        do {
+            expired = presignedUploadMapper.selectList(new LambdaQueryWrapper<PresignedUploadEntity>()
+                    .lt(PresignedUploadEntity::getExpireTime, LocalDateTime.now())
+                    .orderByAsc(PresignedUploadEntity::getExpireTime)
+                    .last("LIMIT " + batchSize));
+            removed = 0;
+            for (PresignedUploadEntity record : expired) {
+                if (record.getStatus() == PresignedUploadEntity.STATUS_COMPLETED || deleteQuietly(record.getObjectName())) {
+                    presignedUploadMapper.deleteById(record.getObjectName());
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                log.info("清理过期直传记录 {} 个", removed);
+            }
+            // 有删除失败的对象时留到下一轮，避免反复查到同一批
+        } while (expired.size() == batchSize && removed == expired.size());
+    }
+
+    private UploadSessionEntity requireSession(String sessionId) {
+        UploadSessionEntity session = uploadSessionMapper.selectById(sessionId);
+        if (session == null || session.getExpireTime().isBefore(LocalDateTime.now())) {
+            throw new BizException(ApiCode.UPLOAD_SESSION_NOT_FOUND);
+        }
+        // 会话只能由创建者继续，不暴露会话是否存在
+        if (!CurrentUserContext.requireUserId().equals(session.getUserId())) {
+            throw new BizException(ApiCode.UPLOAD_SESSION_NOT_FOUND);
+        }
+        return session;
+    }
+
+    /**
+     * 已上传且大小正确的分片，按分片号索引
+     */
+    private Map<Integer, StoredPart> uploadedParts(UploadSessionEntity session) throws IOException {
+        return objectStorage.listParts(session.getObjectName(), session.getUploadId())
+                .stream()
+                .filter(part -> part.getPartNumber() <= session.getChunkCount()
+                        && part.getSize() == chunkLength(session, part.getPartNumber()))
+                .collect(Collectors.toMap(StoredPart::getPartNumber, Function.identity()));
+    }
+
+    private static List<Integer> missingChunks(UploadSessionEntity session, Map<Integer, StoredPart> uploaded) {
+        return IntStream.range(0, session.getChunkCount())
+                .filter(index -> !uploaded.containsKey(index + 1))
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 指定分片号（从1开始）的应有大小，最后一片为剩余部分
+     */
+    private static long chunkLength(UploadSessionEntity session, int partNumber) {
+        long offset = (partNumber - 1) * session.getChunkSize();
+        return Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+    }
+
+    private boolean abortQuietly(UploadSessionEntity session) {
+        try {
+            objectStorage.abortMultipartUpload(session.getObjectName(), session.getUploadId());
+            return true;
+        } catch (Exception e) {
+            log.warn("中止分片上传失败: {}", session.getId(), e);
+            return false;
+        }
+    }
+
+    private static UploadSessionVO toSessionVO(UploadSessionEntity session, List<Integer> missingChunks) {
+        return UploadSessionVO.builder()
+                .sessionId(session.getId())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .totalSize(session.getTotalSize())
+                .completed(session.getStatus() == UploadSessionEntity.STATUS_COMPLETED)
+                .missingChunks(missingChunks)
+                .expireTime(session.getExpireTime())
+                .build();
+    }
+
+    private FileUploadVO toFileUploadVO(UploadSessionEntity session) {
+        return FileUploadVO.builder()
+                .url(objectStorage.objectUrl(session.getObjectName()))
+                .originalFileName(session.getOriginalFilename())
+                .size(session.getTotalSize())
+                .contentType(session.getContentType())
+                .build();
+    }
+
+    /**
+     * 登记内容哈希与对象的对应关系，返回该内容最终使用的对象名；
+     * 同一内容并发上传时只有先登记的对象生效，其余调用方应删除自己写入的副本
+     */
+    private String register(String sha256, String objectName, long size, String contentType) {
+        FileObjectEntity fileObject = new FileObjectEntity();
+        fileObject.setSha256(sha256);
+        fileObject.setObjectName(objectName);
+        fileObject.setSize(size);
+        fileObject.setContentType(contentType);
+        try {
+            fileObjectMapper.insert(fileObject);
+            return objectName;
+        } catch (DuplicateKeyException e) {
+            deduplicatedCounter.increment();
+            return fileObjectMapper.selectById(sha256).getObjectName();
+        }
+    }
+
+    private static String sha256(InputStream inputStream) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 图片上传完成后异步生成缩略图
+     */
+    private void generateVariants(String objectName, String contentType) {
+        if (isImage(contentType)) {
+            imageVariants.generate(objectName);
+        }
+    }
+
+    private boolean isPresignAllowed(String contentType) {
+        return contentType != null && uploadProperties.getPresignAllowedContentTypes().stream()
+                .anyMatch(contentType::startsWith);
+    }
+
+    /**
+     * 只下载对象头部读取图片尺寸
+     */
+    private ImageDimensions readObjectDimensions(String objectName) {
+        try (InputStream inputStream = objectStorage.getObject(objectName, 0L, IMAGE_HEADER_BYTES)) {
+            return ImageDimensions.readQuietly(inputStream);
+        } catch (Exception e) {
+            log.warn("读取图片尺寸失败: {}", objectName, e);
+            return null;
+        }
+    }
+
+    private static boolean isImage(String contentType) {
+        return contentType != null && contentType.startsWith("image/");
+    }
+
+    /**
+     * 生成唯一对象名（按日期分目录）
+     */
+    private String newObjectName(String originalFilename) {
+        String dateFolder = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        return dateFolder + "/" + UUID.randomUUID() + getFileExtension(originalFilename);
+    }
+
+    /**
+     * 删除对象，对象不存在也视为成功；失败时只记录日志
+     */
+    private boolean deleteQuietly(String objectName) {
+        try {
+            objectStorage.removeObject(objectName);
+            return true;
+        } catch (Exception e) {
+            log.warn("删除对象失败: {}", objectName, e);
+            return false;
+        }
+    }
+
     /**
-     * 获取文件扩展名
+     * 获取文件扩展名（含点）；文件名来自客户端，不符合 {@link #FILE_EXTENSION} 时返回空串，避免对象名中出现路径片段
      */
     private String getFileExtension(String fileName) {
-        int lastDotIndex = fileName.lastIndexOf('.');
+        int lastDotIndex = fileName == null ? -1 : fileName.lastIndexOf('.');
         if (lastDotIndex == -1) {
             return "";
         }
-        return fileName.substring(lastDotIndex);
+        String extension = fileName.substring(lastDotIndex + 1);
+        return FILE_EXTENSION.matcher(extension).matches() ? "." + extension : "";
     }
 }
\ No newline at end of file
@@ -3,19 +3,29 @@ package com.example.ybook.service.impl;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.ybook.common.ApiCode;
+import com.example.ybook.common.CountModePage;
+import com.example.ybook.common.CursorCodec;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.PageResult;
 import com.example.ybook.converter.NoteConverter;
 import com.example.ybook.dto.NoteCreateDTO;
 import com.example.ybook.dto.NoteUpdateDTO;
 import com.example.ybook.entity.LabelEntity;
+import com.example.ybook.entity.NoteChangeEntity;
 import com.example.ybook.entity.NoteEntity;
 import com.example.ybook.exception.BizException;
+import com.example.ybook.image.ImageVariant;
+import com.example.ybook.image.ImageVariants;
 import com.example.ybook.mapper.LabelMapper;
 import com.example.ybook.mapper.NoteMapper;
 import com.example.ybook.security.CurrentUserContext;
+import com.example.ybook.mapper.NoteChangeMapper;
 import com.example.ybook.mapper.NoteLabelMapper;
 import com.example.ybook.mapper.UserNoteInteractionMapper;
+import com.example.ybook.search.NoteSearchEngine;
+import com.example.ybook.search.NoteSearchResult;
 import com.example.ybook.service.NoteService;
+import com.example.ybook.service.PageCountService;
 import com.example.ybook.service.UserNoteInteractionService;
 import com.example.ybook.vo.InteractionStatusVO;
 import com.example.ybook.vo.NoteVO;
@@ -23,8 +33,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -40,19 +54,31 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
     private final UserNoteInteractionService userNoteInteractionService;
     private final UserNoteInteractionMapper userNoteInteractionMapper;
     private final com.example.ybook.service.CommentService commentService;
+    private final PageCountService pageCountService;
+    private final NoteSearchEngine noteSearchEngine;
+    private final NoteChangeMapper noteChangeMapper;
+    private final ImageVariants imageVariants;
 
     public NoteServiceImpl(NoteConverter noteConverter,
             NoteLabelMapper noteLabelMapper,
             LabelMapper labelMapper,
             UserNoteInteractionService userNoteInteractionService,
             UserNoteInteractionMapper userNoteInteractionMapper,
-            com.example.ybook.service.CommentService commentService) {
+            com.example.ybook.service.CommentService commentService,
+            PageCountService pageCountService,
+            NoteSearchEngine noteSearchEngine,
+            NoteChangeMapper noteChangeMapper,
+            ImageVariants imageVariants) {
         this.noteConverter = noteConverter;
         this.noteLabelMapper = noteLabelMapper;
         this.labelMapper = labelMapper;
         this.userNoteInteractionService = userNoteInteractionService;
         this.userNoteInteractionMapper = userNoteInteractionMapper;
         this.commentService = commentService;
+        this.pageCountService = pageCountService;
+        this.noteSearchEngine = noteSearchEngine;
+        this.noteChangeMapper = noteChangeMapper;
+        this.imageVariants = imageVariants;
     }
 
     @Override
@@ -69,6 +95,7 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
         
         // 设置交互状态
         setInteractionStatus(noteVO, userId);
+        imageVariants.applyTo(noteVO, ImageVariant.DETAIL);
         
         return noteVO;
     }
@@ -76,23 +103,40 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
     @Override
     public List<NoteVO> listNotesByUserId() {
         Long userId = CurrentUserContext.requireUserId();
-        List<NoteEntity> notes = this.baseMapper.selectByUserId(userId);
-        return convertNotesToVOsWithLabels(notes);
+        List<NoteVO> voList = this.baseMapper.selectFeedByUserId(userId, userId, 0, null);
+        imageVariants.applyTo(voList, ImageVariant.LIST);
+        return voList;
     }
 
     @Override
     public PageResult<NoteVO> pageNotesByUserId(Page<NoteEntity> page) {
         Long userId = CurrentUserContext.requireUserId();
-        Page<NoteEntity> entityPage = this.baseMapper.selectPageByUserId(page, userId);
-        List<NoteVO> voList = convertNotesToVOsWithLabels(entityPage.getRecords());
+        // 信息流查询一次带回标签和交互状态，整页只需计数 + 数据两条语句（计数可按模式省略）
+        pageCountService.applyCachedCount(page, userId);
+        if (page.searchCount()) {
+            page.setTotal(this.lambdaQuery().eq(NoteEntity::getUid, userId).count());
+        }
+        List<NoteVO> voList = !CountModePage.isCounted(page) || page.getTotal() > page.offset()
+                ? this.baseMapper.selectFeedByUserId(userId, userId, page.offset(), page.getSize())
+                : Collections.emptyList();
+        imageVariants.applyTo(voList, ImageVariant.LIST);
 
-        return PageResult.<NoteVO>builder()
-                .current(entityPage.getCurrent())
-                .size(entityPage.getSize())
-                .total(entityPage.getTotal())
-                .pages(entityPage.getPages())
-                .records(voList)
-                .build();
+        return pageCountService.toPageResult(page, voList);
+    }
+
+    @Override
+    public CursorResult<NoteVO> cursorNotesByUserId(String cursor, int size) {
+        Long userId = CurrentUserContext.requireUserId();
+        int limit = CursorResult.fetchLimit(size);
+        // 游标依次为 is_top、update_time、id
+        String[] keys = CursorCodec.decode(cursor, 3);
+        List<NoteVO> rows = keys == null
+                ? this.baseMapper.selectFeedByUserIdAfter(userId, userId, null, null, null, limit)
+                : this.baseMapper.selectFeedByUserIdAfter(userId, userId, keys[0],
+                        CursorCodec.parseDateTime(keys[1]), CursorCodec.parseLong(keys[2]), limit);
+        imageVariants.applyTo(rows, ImageVariant.LIST);
+        return CursorResult.of(rows, size,
+                note -> CursorCodec.encode(note.getIsTop(), note.getUpdateTime(), note.getId()));
     }
 
     @Override
@@ -132,16 +176,61 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
     @Override
     public PageResult<NoteVO> searchNotes(Page<NoteEntity> page, String keyword) {
         Long userId = CurrentUserContext.requireUserId();
+        pageCountService.applyCachedCount(page, userId, keyword);
+        if (noteSearchEngine.isReady()) {
+            try {
+                PageResult<NoteVO> result = searchNotesByIndex(page, keyword, userId);
+                if (result != null) {
+                    return result;
+                }
+            } catch (UncheckedIOException e) {
+                log.warn("Note search index query failed, falling back to database", e);
+            }
+        }
+
+        // 索引未就绪，或关键词没有可检索的词（只有标点、停用词）时回退到数据库模糊查询
         Page<NoteEntity> entityPage = this.baseMapper.searchNotes(page, keyword, userId);
         List<NoteVO> voList = convertNotesToVOsWithLabels(entityPage.getRecords());
 
-        return PageResult.<NoteVO>builder()
-                .current(entityPage.getCurrent())
-                .size(entityPage.getSize())
-                .total(entityPage.getTotal())
-                .pages(entityPage.getPages())
-                .records(voList)
-                .build();
+        return pageCountService.toPageResult(entityPage, voList);
+    }
+
+    /**
+     * 通过全文索引检索，结果按相关度排序并附带高亮片段；关键词无法用索引检索时返回 null
+     */
+    private PageResult<NoteVO> searchNotesByIndex(Page<NoteEntity> page, String keyword, Long userId) {
+        NoteSearchResult result = noteSearchEngine.search(userId, keyword, page.offset(), (int) page.getSize(),
+                page.searchCount());
+        if (result == null) {
+            return null;
+        }
+        if (result.getTotal() != null) {
+            page.setTotal(result.getTotal());
+        }
+
+        // 按命中顺序加载笔记，索引中残留的已删除或已转移笔记直接跳过
+        List<Long> noteIds = result.getHits().stream()
+                .map(NoteSearchResult.Hit::getNoteId)
+                .collect(Collectors.toList());
+        Map<Long, NoteEntity> notesById = noteIds.isEmpty() ? Collections.emptyMap()
+                : this.listByIds(noteIds).stream()
+                        .filter(note -> Objects.equals(note.getUid(), userId))
+                        .collect(Collectors.toMap(NoteEntity::getId, Function.identity()));
+        List<NoteEntity> notes = noteIds.stream()
+                .map(notesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        page.setRecords(notes);
+
+        List<NoteVO> voList = convertNotesToVOsWithLabels(notes);
+        Map<Long, NoteSearchResult.Hit> hitsById = result.getHits().stream()
+                .collect(Collectors.toMap(NoteSearchResult.Hit::getNoteId, Function.identity()));
+        for (NoteVO noteVO : voList) {
+            NoteSearchResult.Hit hit = hitsById.get(noteVO.getId());
+            noteVO.setTitleHighlight(hit.getTitleHighlight());
+            noteVO.setContentHighlight(hit.getContentHighlight());
+        }
+        return pageCountService.toPageResult(page, voList);
     }
 
     @Override
@@ -166,6 +255,8 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
             }
         }
 
+        // 同一事务内记录变更，由后台任务同步到检索索引
+        noteChangeMapper.insert(NoteChangeEntity.upsert(entity.getId()));
         return getNoteById(entity.getId());
     }
 
@@ -202,6 +293,7 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
             }
         }
 
+        noteChangeMapper.insert(NoteChangeEntity.upsert(id));
         return getNoteById(id);
     }
 
@@ -229,6 +321,7 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
         }
 
         // 删除笔记
+        noteChangeMapper.insert(NoteChangeEntity.delete(id));
         return this.removeById(id);
     }
 
@@ -254,15 +347,21 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, NoteEntity> impleme
      */
     private List<NoteVO> convertNotesToVOsWithLabels(List<NoteEntity> notes) {
         Long userId = CurrentUserContext.getUserId();
-        List<NoteVO> noteVOs = notes.stream().map(note -> {
-            List<LabelEntity> labels = noteLabelMapper.selectLabelsByNoteId(note.getId());
-            return noteConverter.entityToVO(note, labels);
-        }).collect(Collectors.toList());
+        // 一次查询加载整页笔记的标签，避免逐条查询
+        List<Long> noteIds = notes.stream()
+                .map(NoteEntity::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<LabelEntity>> labelsByNoteId = noteLabelMapper.selectLabelsGroupedByNoteIds(noteIds);
+        List<NoteVO> noteVOs = notes.stream()
+                .map(note -> noteConverter.entityToVO(note,
+                        labelsByNoteId.getOrDefault(note.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
         
         // 批量设置交互状态
         if (userId != null && !noteVOs.isEmpty()) {
             batchSetInteractionStatus(noteVOs, userId);
         }
+        imageVariants.applyTo(noteVOs, ImageVariant.LIST);
         
         return noteVOs;
     }
@@ -0,0 +1,104 @@
+package com.example.ybook.service.impl;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CountModePage;
+import com.example.ybook.common.PageResult;
+import com.example.ybook.config.PagingProperties;
+import com.example.ybook.service.PageCountService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 分页总数统计服务实现
+ */
+@Service
+public class PageCountServiceImpl implements PageCountService {
+
+    private final PagingProperties pagingProperties;
+    private final Cache<String, Long> countCache;
+
+    public PageCountServiceImpl(PagingProperties pagingProperties) {
+        this.pagingProperties = pagingProperties;
+        this.countCache = Caffeine.newBuilder()
+                .expireAfterWrite(pagingProperties.getCountCacheTtl())
+                .maximumSize(pagingProperties.getCountCacheMaxSize())
+                .build();
+    }
+
+    @Override
+    public <T> Page<T> newPage(String endpoint, CountMode requested, long current, long size) {
+        CountMode countMode = requested != null ? requested : pagingProperties.countModeOf(endpoint);
+        CountModePage<T> page = new CountModePage<>(current, size, countMode);
+        if (countMode == CountMode.CACHED) {
+            page.setCountCacheKey(endpoint);
+        }
+        return page;
+    }
+
+    @Override
+    public void applyCachedCount(Page<?> page, Object... keyParts) {
+        if (!(page instanceof CountModePage<?> countModePage) || countModePage.getCountMode() != CountMode.CACHED) {
+            return;
+        }
+        StringJoiner key = new StringJoiner(":").add(countModePage.getCountCacheKey());
+        for (Object part : keyParts) {
+            key.add(String.valueOf(part));
+        }
+        countModePage.setCountCacheKey(key.toString());
+
+        Long cachedTotal = countCache.getIfPresent(countModePage.getCountCacheKey());
+        if (cachedTotal != null) {
+            countModePage.setSearchCount(false);
+            countModePage.setTotal(cachedTotal);
+        }
+    }
+
+    @Override
+    public <R> PageResult<R> toPageResult(Page<?> page, List<R> records) {
+        if (!(page instanceof CountModePage<?> countModePage)) {
+            return exactResult(page, page.getSize(), records);
+        }
+
+        switch (countModePage.getCountMode()) {
+            case NONE -> {
+                // 多取的一条可能已被调用方在转换前截掉，因此同时参考原始记录数
+                long pageSize = countModePage.getPageSize();
+                boolean hasNext = records.size() > pageSize || page.getRecords().size() > pageSize;
+                return PageResult.<R>builder()
+                        .current(page.getCurrent())
+                        .size(pageSize)
+                        .hasNext(hasNext)
+                        .records(records.size() > pageSize ? records.subList(0, (int) pageSize) : records)
+                        .build();
+            }
+            case CACHED -> {
+                // 本次执行了 COUNT 查询，回填缓存
+                if (page.searchCount()) {
+                    countCache.put(countModePage.getCountCacheKey(), page.getTotal());
+                }
+                return exactResult(page, countModePage.getPageSize(), records);
+            }
+            default -> {
+                return exactResult(page, countModePage.getPageSize(), records);
+            }
+        }
+    }
+
+    private <R> PageResult<R> exactResult(Page<?> page, long pageSize, List<R> records) {
+        long total = page.getTotal();
+        long pages = pageSize <= 0 ? 0 : (total + pageSize - 1) / pageSize;
+        return PageResult.<R>builder()
+                .current(page.getCurrent())
+                .size(pageSize)
+                .total(total)
+                .pages(pages)
+                .hasNext(page.getCurrent() < pages)
+                .records(records)
+                .build();
+    }
+}
@@ -4,29 +4,40 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.ybook.common.ApiCode;
+import com.example.ybook.common.CountMode;
+import com.example.ybook.common.CountModePage;
+import com.example.ybook.common.CursorCodec;
+import com.example.ybook.common.CursorResult;
 import com.example.ybook.common.InteractionType;
+import com.example.ybook.common.PageResult;
 import com.example.ybook.converter.NoteConverter;
+import com.example.ybook.counter.NoteCounter;
+import com.example.ybook.counter.NoteCounterBuffer;
+import com.example.ybook.entity.InteractionToggle;
 import com.example.ybook.entity.LabelEntity;
 import com.example.ybook.entity.NoteEntity;
 import com.example.ybook.entity.UserNoteInteractionEntity;
 import com.example.ybook.exception.BizException;
+import com.example.ybook.image.ImageVariant;
+import com.example.ybook.image.ImageVariants;
 import com.example.ybook.mapper.LabelMapper;
 import com.example.ybook.mapper.NoteMapper;
 import com.example.ybook.mapper.NoteLabelMapper;
 import com.example.ybook.mapper.UserNoteInteractionMapper;
 import com.example.ybook.security.CurrentUserContext;
+import com.example.ybook.service.PageCountService;
 import com.example.ybook.service.UserNoteInteractionService;
 import com.example.ybook.vo.InteractionStatusVO;
 import com.example.ybook.vo.NoteVO;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -41,77 +52,44 @@ public class UserNoteInteractionServiceImpl extends ServiceImpl<UserNoteInteract
     private final NoteConverter noteConverter;
     private final NoteLabelMapper noteLabelMapper;
     private final LabelMapper labelMapper;
+    private final PageCountService pageCountService;
+    private final NoteCounterBuffer noteCounterBuffer;
+    private final ImageVariants imageVariants;
 
     public UserNoteInteractionServiceImpl(NoteMapper noteMapper, 
                                         NoteConverter noteConverter,
                                         NoteLabelMapper noteLabelMapper,
-                                        LabelMapper labelMapper) {
+                                        LabelMapper labelMapper,
+                                        PageCountService pageCountService,
+                                        NoteCounterBuffer noteCounterBuffer,
+                                        ImageVariants imageVariants) {
         this.noteMapper = noteMapper;
         this.noteConverter = noteConverter;
         this.noteLabelMapper = noteLabelMapper;
         this.labelMapper = labelMapper;
+        this.pageCountService = pageCountService;
+        this.noteCounterBuffer = noteCounterBuffer;
+        this.imageVariants = imageVariants;
     }
 
     @Override
-    @Transactional
     public boolean toggleLike(Long noteId) {
-        Long userId = CurrentUserContext.requireUserId();
-        
-        // 验证笔记是否存在
-        NoteEntity note = noteMapper.selectById(noteId);
-        if (note == null) {
-            throw new BizException(ApiCode.NOTE_NOT_FOUND);
-        }
-
-        // 获取或创建交互记录
-        UserNoteInteractionEntity interaction = getOrCreateInteraction(userId, noteId);
-        
-        // 切换点赞状态
-        boolean isLiked = interaction.isLiked();
-        interaction.setLiked(!isLiked);
-        
-        // 如果所有交互都取消了，删除记录；否则更新
-        if (!interaction.hasAnyInteraction()) {
-            this.removeById(interaction.getId());
-        } else {
-            this.updateById(interaction);
-        }
+        boolean isLiked = toggleInteraction(noteId, InteractionType.LIKE);
         
-        // 异步更新计数
-        updateLikeCountAsync(noteId);
+        // 计数增量进入写缓冲，批量写入
+        noteCounterBuffer.add(NoteCounter.LIKE, noteId, isLiked ? 1 : -1);
         
-        return !isLiked; // 返回新的点赞状态
+        return isLiked; // 返回新的点赞状态
     }
 
     @Override
-    @Transactional
     public boolean toggleFavorite(Long noteId) {
-        Long userId = CurrentUserContext.requireUserId();
-        
-        // 验证笔记是否存在
-        NoteEntity note = noteMapper.selectById(noteId);
-        if (note == null) {
-            throw new BizException(ApiCode.NOTE_NOT_FOUND);
-        }
-
-        // 获取或创建交互记录
-        UserNoteInteractionEntity interaction = getOrCreateInteraction(userId, noteId);
+        boolean isFavorited = toggleInteraction(noteId, InteractionType.FAVORITE);
         
-        // 切换收藏状态
-        boolean isFavorited = interaction.isFavorited();
-        interaction.setFavorited(!isFavorited);
+        // 计数增量进入写缓冲，批量写入
+        noteCounterBuffer.add(NoteCounter.COLLECT, noteId, isFavorited ? 1 : -1);
         
-        // 如果所有交互都取消了，删除记录；否则更新
-        if (!interaction.hasAnyInteraction()) {
-            this.removeById(interaction.getId());
-        } else {
-            this.updateById(interaction);
-        }
-        
-        // 异步更新计数
-        updateFavoriteCountAsync(noteId);
-        
-        return !isFavorited; // 返回新的收藏状态
+        return isFavorited; // 返回新的收藏状态
     }
 
     @Override
@@ -171,141 +149,149 @@ public class UserNoteInteractionServiceImpl extends ServiceImpl<UserNoteInteract
     }
 
     @Override
-    public Page<NoteVO> getUserFavoriteNotes(Long userId, int pageNum, int pageSize) {
+    public PageResult<NoteVO> getUserFavoriteNotes(Long userId, int pageNum, int pageSize, CountMode countMode) {
         if (userId == null) {
             userId = CurrentUserContext.requireUserId();
         }
         
         // 创建分页对象
-        Page<Long> noteIdPage = new Page<>(pageNum, pageSize);
+        Page<Long> noteIdPage = pageCountService.newPage(PageCountService.NOTES_FAVORITES, countMode, pageNum, pageSize);
+        pageCountService.applyCachedCount(noteIdPage, userId);
         
         // 分页查询收藏的笔记ID
         Page<Long> favoriteNoteIdPage = baseMapper.selectFavoriteNoteIdsByUserId(noteIdPage, userId);
         
-        List<Long> favoriteNoteIds = favoriteNoteIdPage.getRecords();
-        if (favoriteNoteIds.isEmpty()) {
-            return new Page<>(pageNum, pageSize);
-        }
-        
         // 查询笔记详情并转换为VO
-        List<NoteVO> noteVOs = new ArrayList<>();
-        for (Long noteId : favoriteNoteIds) {
-            try {
-                // 直接构造 NoteVO，避免循环依赖
-                NoteEntity noteEntity = noteMapper.selectById(noteId);
-                if (noteEntity != null) {
-                    List<LabelEntity> labels = noteLabelMapper.selectLabelsByNoteId(noteId);
-                    NoteVO noteVO = noteConverter.entityToVO(noteEntity, labels);
-                    // 设置收藏状态为true（因为这是收藏列表）
-                    noteVO.setIsLiked(false); // 需要单独查询
-                    noteVO.setIsFavorited(true);
-                    noteVOs.add(noteVO);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to get note detail for noteId: {}", noteId, e);
-            }
+        List<NoteVO> noteVOs = convertNoteIdsToVOs(pageNoteIds(favoriteNoteIdPage));
+        for (NoteVO noteVO : noteVOs) {
+            // 设置收藏状态为true（因为这是收藏列表）
+            noteVO.setIsLiked(false); // 需要单独查询
+            noteVO.setIsFavorited(true);
         }
         
-        // 构造分页结果
-        Page<NoteVO> result = new Page<>(pageNum, pageSize);
-        result.setRecords(noteVOs);
-        result.setTotal(favoriteNoteIdPage.getTotal());
-        
-        return result;
+        return pageCountService.toPageResult(favoriteNoteIdPage, noteVOs);
     }
 
     @Override
-    public Page<NoteVO> getUserLikedNotes(Long userId, int pageNum, int pageSize) {
+    public PageResult<NoteVO> getUserLikedNotes(Long userId, int pageNum, int pageSize, CountMode countMode) {
         if (userId == null) {
             userId = CurrentUserContext.requireUserId();
         }
         
         // 创建分页对象
-        Page<Long> noteIdPage = new Page<>(pageNum, pageSize);
+        Page<Long> noteIdPage = pageCountService.newPage(PageCountService.NOTES_LIKES, countMode, pageNum, pageSize);
+        pageCountService.applyCachedCount(noteIdPage, userId);
         
         // 分页查询点赞的笔记ID
         Page<Long> likedNoteIdPage = baseMapper.selectLikedNoteIdsByUserId(noteIdPage, userId);
         
-        List<Long> likedNoteIds = likedNoteIdPage.getRecords();
-        if (likedNoteIds.isEmpty()) {
-            return new Page<>(pageNum, pageSize);
-        }
-        
         // 查询笔记详情并转换为VO
-        List<NoteVO> noteVOs = new ArrayList<>();
-        for (Long noteId : likedNoteIds) {
-            try {
-                // 直接构造 NoteVO，避免循环依赖
-                NoteEntity noteEntity = noteMapper.selectById(noteId);
-                if (noteEntity != null) {
-                    List<LabelEntity> labels = noteLabelMapper.selectLabelsByNoteId(noteId);
-                    NoteVO noteVO = noteConverter.entityToVO(noteEntity, labels);
-                    // 设置点赞状态为true（因为这是点赞列表）
-                    noteVO.setIsLiked(true);
-                    noteVO.setIsFavorited(false); // 需要单独查询
-                    noteVOs.add(noteVO);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to get note detail for noteId: {}", noteId, e);
-            }
+        List<NoteVO> noteVOs = convertNoteIdsToVOs(pageNoteIds(likedNoteIdPage));
+        for (NoteVO noteVO : noteVOs) {
+            // 设置点赞状态为true（因为这是点赞列表）
+            noteVO.setIsLiked(true);
+            noteVO.setIsFavorited(false); // 需要单独查询
         }
         
-        // 构造分页结果
-        Page<NoteVO> result = new Page<>(pageNum, pageSize);
-        result.setRecords(noteVOs);
-        result.setTotal(likedNoteIdPage.getTotal());
-        
+        return pageCountService.toPageResult(likedNoteIdPage, noteVOs);
+    }
+
+    @Override
+    public CursorResult<NoteVO> getUserFavoriteNotesCursor(Long userId, String cursor, int size) {
+        CursorResult<NoteVO> result = cursorNotesByType(userId, InteractionType.FAVORITE, cursor, size);
+        // 设置收藏状态为true（因为这是收藏列表）
+        result.getRecords().forEach(noteVO -> {
+            noteVO.setIsLiked(false); // 需要单独查询
+            noteVO.setIsFavorited(true);
+        });
         return result;
     }
 
     @Override
-    @Async
-    public void updateLikeCountAsync(Long noteId) {
-        try {
-            Long likeCount = baseMapper.countLikesByNoteId(noteId);
-            
-            NoteEntity note = new NoteEntity();
-            note.setId(noteId);
-            note.setLikeCount(likeCount.intValue());
-            
-            noteMapper.updateById(note);
-            log.debug("Updated like count for noteId: {}, count: {}", noteId, likeCount);
-        } catch (Exception e) {
-            log.error("Failed to update like count for noteId: {}", noteId, e);
+    public CursorResult<NoteVO> getUserLikedNotesCursor(Long userId, String cursor, int size) {
+        CursorResult<NoteVO> result = cursorNotesByType(userId, InteractionType.LIKE, cursor, size);
+        // 设置点赞状态为true（因为这是点赞列表）
+        result.getRecords().forEach(noteVO -> {
+            noteVO.setIsLiked(true);
+            noteVO.setIsFavorited(false); // 需要单独查询
+        });
+        return result;
+    }
+
+    /**
+     * 按交互类型游标查询用户的笔记，游标依次为交互记录的 update_time、note_id
+     */
+    private CursorResult<NoteVO> cursorNotesByType(Long userId, InteractionType type, String cursor, int size) {
+        if (userId == null) {
+            userId = CurrentUserContext.requireUserId();
         }
+        int limit = CursorResult.fetchLimit(size);
+        String[] keys = CursorCodec.decode(cursor, 2);
+        List<UserNoteInteractionEntity> rows = keys == null
+                ? baseMapper.selectByUserIdAndTypeAfter(userId, type.getValue(), null, null, limit)
+                : baseMapper.selectByUserIdAndTypeAfter(userId, type.getValue(),
+                        CursorCodec.parseDateTime(keys[0]), CursorCodec.parseLong(keys[1]), limit);
+
+        CursorResult<UserNoteInteractionEntity> interactionResult = CursorResult.of(rows, size,
+                interaction -> CursorCodec.encode(interaction.getUpdateTime(), interaction.getNoteId()));
+        List<Long> noteIds = interactionResult.getRecords().stream()
+                .map(UserNoteInteractionEntity::getNoteId)
+                .collect(Collectors.toList());
+        List<NoteVO> noteVOs = convertNoteIdsToVOs(noteIds);
+
+        return CursorResult.<NoteVO>builder()
+                .size(interactionResult.getSize())
+                .hasNext(interactionResult.isHasNext())
+                .nextCursor(interactionResult.getNextCursor())
+                .records(noteVOs)
+                .build();
     }
 
-    @Override
-    @Async
-    public void updateFavoriteCountAsync(Long noteId) {
-        try {
-            Long favoriteCount = baseMapper.countFavoritesByNoteId(noteId);
-            
-            NoteEntity note = new NoteEntity();
-            note.setId(noteId);
-            note.setCollectCount(favoriteCount.intValue());
-            
-            noteMapper.updateById(note);
-            log.debug("Updated favorite count for noteId: {}, count: {}", noteId, favoriteCount);
-        } catch (Exception e) {
-            log.error("Failed to update favorite count for noteId: {}", noteId, e);
+    /**
+     * 取出本页的笔记ID（不统计总数时去掉用于判断下一页的多取的一条）
+     */
+    private List<Long> pageNoteIds(Page<Long> noteIdPage) {
+        List<Long> noteIds = noteIdPage.getRecords();
+        int pageSize = (int) CountModePage.pageSizeOf(noteIdPage);
+        return noteIds.size() > pageSize ? noteIds.subList(0, pageSize) : noteIds;
+    }
+
+    /**
+     * 按给定顺序批量加载笔记及其标签并转换为VO（直接构造 NoteVO，避免循环依赖）
+     */
+    private List<NoteVO> convertNoteIdsToVOs(List<Long> noteIds) {
+        if (noteIds.isEmpty()) {
+            return new ArrayList<>();
         }
+        Map<Long, NoteEntity> notesById = noteMapper.selectByIds(noteIds).stream()
+                .collect(Collectors.toMap(NoteEntity::getId, Function.identity()));
+        Map<Long, List<LabelEntity>> labelsByNoteId = noteLabelMapper.selectLabelsGroupedByNoteIds(noteIds);
+
+        List<NoteVO> noteVOs = new ArrayList<>(noteIds.size());
+        for (Long noteId : noteIds) {
+            NoteEntity noteEntity = notesById.get(noteId);
+            if (noteEntity == null) {
+                log.warn("Note not found for noteId: {}", noteId);
+                continue;
+            }
+            noteVOs.add(noteConverter.entityToVO(noteEntity,
+                    labelsByNoteId.getOrDefault(noteId, Collections.emptyList())));
+        }
+        imageVariants.applyTo(noteVOs, ImageVariant.LIST);
+        return noteVOs;
     }
 
     /**
-     * 获取或创建交互记录
+     * 原子切换当前用户对笔记的交互位，一条语句完成校验笔记存在、插入或更新
+     * 取消全部交互后保留位图为 0 的记录，查询均按位判断，不影响结果
      */
-    private UserNoteInteractionEntity getOrCreateInteraction(Long userId, Long noteId) {
-        UserNoteInteractionEntity interaction = baseMapper.selectByUserIdAndNoteId(userId, noteId);
-        
-        if (interaction == null) {
-            interaction = new UserNoteInteractionEntity();
-            interaction.setUserId(userId);
-            interaction.setNoteId(noteId);
-            interaction.setInteractionType(0);
-            this.save(interaction);
+    private boolean toggleInteraction(Long noteId, InteractionType type) {
+        Long userId = CurrentUserContext.requireUserId();
+        InteractionToggle toggle = new InteractionToggle(userId, noteId, type);
+        int affectedRows = baseMapper.toggleInteraction(toggle);
+        if (affectedRows == 0) {
+            throw new BizException(ApiCode.NOTE_NOT_FOUND);
         }
-        
-        return interaction;
+        return toggle.isSetAfter(affectedRows);
     }
 }
\ No newline at end of file
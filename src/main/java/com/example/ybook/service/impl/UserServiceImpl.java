@@ -1,6 +1,7 @@
 package com.example.ybook.service.impl;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.ybook.cache.UserProfileCache;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.ybook.common.ApiCode;
 import com.example.ybook.common.PageResult;
@@ -37,6 +38,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserEntity> impleme
     @Autowired
     private UserConverter userConverter;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
     @Override
     public UserVO getUserById(Long id) {
         UserEntity entity = this.getById(id);
@@ -129,11 +133,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserEntity> impleme
 
         // 保存更新
         this.updateById(entity);
+        userProfileCache.invalidate(id);
         return userConverter.entityToVO(this.getById(id));
     }
 
     @Override
     public boolean deleteUser(Long id) {
-        return this.removeById(id);
+        boolean removed = this.removeById(id);
+        userProfileCache.invalidate(id);
+        return removed;
     }
 }
@@ -0,0 +1,261 @@
+package com.example.ybook.storage;
+
+import com.example.ybook.config.StorageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * 基于本地磁盘的对象存储
+ * </p>
+ * 对象名即 root 下的相对路径。写入先落到同目录的临时文件，写完后原子重命名为目标文件，
+ * 读取方不会看到写了一半的对象；数据由 FileChannel.transferFrom 从请求流直接写入文件，不经过额外的缓冲复制。
+ * 分片上传的分片保存在 root/.multipart/{uploadId}/{分片号}，合并时依次 transferTo 到临时文件后原子重命名。
+ * 只用于测试与压测：写入后不调用 force，不支持预签名直传，对象类型按扩展名推断。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ybook.storage", name = "type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final String MULTIPART_DIR = ".multipart";
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{32}");
+
+    /**
+     * 单次 transferFrom 的最大字节数，非文件来源的通道由 JDK 按块读写
+     */
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final Path root;
+    private final Path multipartRoot;
+    private final String baseUrl;
+
+    public LocalObjectStorage(StorageProperties storageProperties) throws IOException {
+        this.root = storageProperties.getLocal().getRoot().toAbsolutePath().normalize();
+        this.multipartRoot = root.resolve(MULTIPART_DIR);
+        this.baseUrl = storageProperties.getLocal().getBaseUrl();
+        Files.createDirectories(multipartRoot);
+        log.info("使用本地对象存储: {}", root);
+    }
+
+    @Override
+    public void putObject(String objectName, InputStream inputStream, long size, String contentType) throws IOException {
+        Path target = resolve(objectName);
+        Files.createDirectories(target.getParent());
+        // 调用方负责关闭输入流，这里只包装成通道
+        ReadableByteChannel source = Channels.newChannel(inputStream);
+        long limit = size < 0 ? Long.MAX_VALUE : size;
+        writeAtomically(target, channel -> {
+            long position = 0;
+            long transferred;
+            // 来源为流时 transferFrom 只在读到末尾时返回不足 count 的字节数
+            while (position < limit
+                    && (transferred = channel.transferFrom(source, position, Math.min(TRANSFER_CHUNK, limit - position))) > 0) {
+                position += transferred;
+            }
+            if (size >= 0 && position != size) {
+                throw new IOException("Expected " + size + " bytes but got " + position);
+            }
+        });
+    }
+
+    @Override
+    public InputStream getObject(String objectName) throws IOException {
+        return Files.newInputStream(resolve(objectName));
+    }
+
+    /**
+     * 范围内容一次读入内存，只适用于读取文件头部等小范围
+     */
+    @Override
+    public InputStream getObject(String objectName, long offset, long length) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(resolve(objectName))) {
+            channel.position(offset);
+            return new ByteArrayInputStream(Channels.newInputStream(channel).readNBytes(Math.toIntExact(length)));
+        }
+    }
+
+    @Override
+    public StoredObject statObject(String objectName) throws IOException {
+        Path path = resolve(objectName);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        String contentType = MediaTypeFactory.getMediaType(objectName)
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        return new StoredObject(Files.size(path), contentType);
+    }
+
+    @Override
+    public void removeObject(String objectName) throws IOException {
+        Files.deleteIfExists(resolve(objectName));
+    }
+
+    @Override
+    public String objectUrl(String objectName) {
+        return baseUrl + "/" + objectName;
+    }
+
+    @Override
+    public String createMultipartUpload(String objectName, String contentType) throws IOException {
+        resolve(objectName);
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Files.createDirectories(multipartRoot.resolve(uploadId));
+        return uploadId;
+    }
+
+    @Override
+    public void uploadPart(String objectName, String uploadId, int partNumber, byte[] data) throws IOException {
+        Path uploadDir = uploadDir(uploadId);
+        if (!Files.isDirectory(uploadDir)) {
+            throw new IOException("No such upload: " + uploadId);
+        }
+        // 同一分片重复上传时原子替换，合并时不会读到写了一半的分片
+        Path temp = Files.createTempFile(uploadDir, ".part-", ".tmp");
+        try {
+            Files.write(temp, data);
+            Files.move(temp, uploadDir.resolve(Integer.toString(partNumber)),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<StoredPart> listParts(String objectName, String uploadId) throws IOException {
+        List<StoredPart> parts = new ArrayList<>();
+        try (Stream<Path> files = Files.list(uploadDir(uploadId))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.chars().allMatch(Character::isDigit)) {
+                    parts.add(new StoredPart(Integer.parseInt(name), null, Files.size(file)));
+                }
+            }
+        }
+        parts.sort(Comparator.comparingInt(StoredPart::getPartNumber));
+        return parts;
+    }
+
+    @Override
+    public void completeMultipartUpload(String objectName, String uploadId, List<StoredPart> parts) throws IOException {
+        Path target = resolve(objectName);
+        Path uploadDir = uploadDir(uploadId);
+        Files.createDirectories(target.getParent());
+        writeAtomically(target, channel -> {
+            // 文件到文件的 transferTo 由内核直接复制，依次追加到目标通道的当前位置
+            for (StoredPart part : parts) {
+                try (FileChannel source = FileChannel.open(uploadDir.resolve(Integer.toString(part.getPartNumber())))) {
+                    long size = source.size();
+                    long transferred = 0;
+                    while (transferred < size) {
+                        transferred += source.transferTo(transferred, size - transferred, channel);
+                    }
+                }
+            }
+        });
+        deleteRecursively(uploadDir);
+    }
+
+    @Override
+    public void abortMultipartUpload(String objectName, String uploadId) throws IOException {
+        deleteRecursively(uploadDir(uploadId));
+    }
+
+    @Override
+    public String presignPut(String objectName, Duration expiry) {
+        throw new UnsupportedOperationException("Local storage does not support presigned uploads");
+    }
+
+    @Override
+    public String presignPostUrl() {
+        throw new UnsupportedOperationException("Local storage does not support presigned uploads");
+    }
+
+    @Override
+    public Map<String, String> presignPost(String objectName, String contentType, long maxSize,
+                                           ZonedDateTime expiration) {
+        throw new UnsupportedOperationException("Local storage does not support presigned uploads");
+    }
+
+    /**
+     * 对象名对应的文件。对象名必须是规范的相对路径：含 "."、".."、空路径段或以 "/" 开头的名称一律拒绝，
+     * 不同名称不会指向同一文件；规范化后仍须位于 root 内且不在分片目录下
+     */
+    private Path resolve(String objectName) {
+        Path relative = root.getFileSystem().getPath(objectName);
+        if (objectName.isEmpty() || relative.isAbsolute() || !relative.normalize().toString().equals(objectName)) {
+            throw new IllegalArgumentException("Invalid object name: " + objectName);
+        }
+        Path path = root.resolve(relative).normalize();
+        if (!path.startsWith(root) || path.equals(root) || path.startsWith(multipartRoot)) {
+            throw new IllegalArgumentException("Invalid object name: " + objectName);
+        }
+        return path;
+    }
+
+    private Path uploadDir(String uploadId) {
+        if (!UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("Invalid upload id: " + uploadId);
+        }
+        return multipartRoot.resolve(uploadId);
+    }
+
+    /**
+     * 写入目标同目录下的临时文件，成功后原子重命名为目标文件，失败时删除临时文件
+     */
+    private static void writeAtomically(Path target, ChannelWriter writer) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writer.write(channel);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChannelWriter {
+        void write(FileChannel channel) throws IOException;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.ybook.storage;
+
+import com.example.ybook.config.MinioConfig;
+import com.example.ybook.config.MinioMultipartClient;
+import com.example.ybook.config.UploadProperties;
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.PostPolicy;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.MinioException;
+import io.minio.http.Method;
+import io.minio.messages.Part;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 基于 MinIO 的对象存储（默认）
+ * </p>
+ * 对象写入 minio.bucket-name，MinIO 客户端的受检异常统一包装为 IOException；
+ * 读写流时抛出的运行时异常（如超出大小限制的 BizException）原样抛出。
+ */
+@Component
+@ConditionalOnProperty(prefix = "ybook.storage", name = "type", havingValue = "minio", matchIfMissing = true)
+public class MinioObjectStorage implements ObjectStorage {
+
+    private final MinioClient minioClient;
+    private final MinioMultipartClient minioMultipartClient;
+    private final MinioConfig minioConfig;
+    private final UploadProperties uploadProperties;
+
+    public MinioObjectStorage(MinioClient minioClient,
+                              MinioMultipartClient minioMultipartClient,
+                              MinioConfig minioConfig,
+                              UploadProperties uploadProperties) {
+        this.minioClient = minioClient;
+        this.minioMultipartClient = minioMultipartClient;
+        this.minioConfig = minioConfig;
+        this.uploadProperties = uploadProperties;
+    }
+
+    @Override
+    public void putObject(String objectName, InputStream inputStream, long size, String contentType) throws IOException {
+        try {
+            // 按 partSize 分片读取上传，单个上传最多占用一个分片的内存；失败时 MinIO 会中止分片上传
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(objectName)
+                    .stream(inputStream, size, uploadProperties.getPartSize().toBytes())
+                    .contentType(contentType)
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String objectName) throws IOException {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(objectName)
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String objectName, long offset, long length) throws IOException {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(objectName)
+                    .offset(offset)
+                    .length(length)
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StoredObject statObject(String objectName) throws IOException {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(objectName)
+                    .build());
+            return new StoredObject(stat.size(), stat.contentType());
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw new IOException(e.getMessage(), e);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void removeObject(String objectName) throws IOException {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(objectName)
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String objectUrl(String objectName) {
+        return minioConfig.objectUrl(objectName);
+    }
+
+    @Override
+    public String createMultipartUpload(String objectName, String contentType) throws IOException {
+        try {
+            return minioMultipartClient.createMultipartUpload(minioConfig.getBucketName(), objectName, contentType);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void uploadPart(String objectName, String uploadId, int partNumber, byte[] data) throws IOException {
+        try {
+            minioMultipartClient.uploadPart(minioConfig.getBucketName(), objectName, uploadId, partNumber, data);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<StoredPart> listParts(String objectName, String uploadId) throws IOException {
+        try {
+            return minioMultipartClient.listParts(minioConfig.getBucketName(), objectName, uploadId).stream()
+                    .map(part -> new StoredPart(part.partNumber(), part.etag(), part.partSize()))
+                    .collect(Collectors.toList());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String objectName, String uploadId, List<StoredPart> parts) throws IOException {
+        Part[] minioParts = parts.stream()
+                .map(part -> new Part(part.getPartNumber(), part.getEtag()))
+                .toArray(Part[]::new);
+        try {
+            minioMultipartClient.completeMultipartUpload(minioConfig.getBucketName(), objectName, uploadId, minioParts);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String objectName, String uploadId) throws IOException {
+        try {
+            minioMultipartClient.abortMultipartUpload(minioConfig.getBucketName(), objectName, uploadId);
+        } catch (ErrorResponseException e) {
+            // 其他节点已经完成或中止
+            if (!"NoSuchUpload".equals(e.errorResponse().code())) {
+                throw new IOException(e.getMessage(), e);
+            }
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String presignPut(String objectName, Duration expiry) throws IOException {
+        try {
+            return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(Method.PUT)
+                    .bucket(minioConfig.getBucketName())
+                    .object(objectName)
+                    .expiry((int) expiry.toSeconds(), TimeUnit.SECONDS)
+                    .build());
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String presignPostUrl() {
+        return minioConfig.getEndpoint() + "/" + minioConfig.getBucketName();
+    }
+
+    @Override
+    public Map<String, String> presignPost(String objectName, String contentType, long maxSize,
+                                           ZonedDateTime expiration) throws IOException {
+        PostPolicy policy = new PostPolicy(minioConfig.getBucketName(), expiration);
+        policy.addEqualsCondition("key", objectName);
+        policy.addEqualsCondition("Content-Type", contentType);
+        policy.addContentLengthRangeCondition(1L, maxSize);
+        try {
+            return minioClient.getPresignedPostFormData(policy);
+        } catch (MinioException | GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
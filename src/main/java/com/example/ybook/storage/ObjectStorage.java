@@ -0,0 +1,98 @@
+package com.example.ybook.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * 对象存储
+ * </p>
+ * 上传、缩略图等只通过该接口读写文件，由 ybook.storage.type 选择实现：
+ * minio（默认，{@link MinioObjectStorage}）或 local（本地磁盘，{@link LocalObjectStorage}，用于测试与压测）。
+ * 对象名统一使用 / 分隔的相对路径，如 2025/09/07/uuid.jpg。
+ */
+public interface ObjectStorage {
+
+    /**
+     * 写入对象，已存在时覆盖
+     *
+     * @param size 内容长度，未知时为 -1
+     */
+    void putObject(String objectName, InputStream inputStream, long size, String contentType) throws IOException;
+
+    /**
+     * 读取对象内容，调用方负责关闭
+     */
+    InputStream getObject(String objectName) throws IOException;
+
+    /**
+     * 读取对象从 offset 开始的至多 length 字节，用于只读取文件头部
+     */
+    InputStream getObject(String objectName, long offset, long length) throws IOException;
+
+    /**
+     * 对象大小与类型，不存在时返回 null
+     */
+    StoredObject statObject(String objectName) throws IOException;
+
+    /**
+     * 删除对象，不存在时忽略
+     */
+    void removeObject(String objectName) throws IOException;
+
+    /**
+     * 对象的访问URL
+     */
+    String objectUrl(String objectName);
+
+    /**
+     * 创建分片上传，返回 uploadId
+     */
+    String createMultipartUpload(String objectName, String contentType) throws IOException;
+
+    /**
+     * 上传一个分片，partNumber 从 1 开始；重复上传同一分片以最后一次为准
+     */
+    void uploadPart(String objectName, String uploadId, int partNumber, byte[] data) throws IOException;
+
+    /**
+     * 已上传的分片
+     */
+    List<StoredPart> listParts(String objectName, String uploadId) throws IOException;
+
+    /**
+     * 按给定顺序合并分片为最终对象
+     */
+    void completeMultipartUpload(String objectName, String uploadId, List<StoredPart> parts) throws IOException;
+
+    /**
+     * 中止分片上传并释放已上传的分片，上传不存在（已完成或已中止）时忽略
+     */
+    void abortMultipartUpload(String objectName, String uploadId) throws IOException;
+
+    /**
+     * 预签名 PUT 地址，客户端凭此直接上传
+     *
+     * @throws UnsupportedOperationException 存储不支持直传时
+     */
+    String presignPut(String objectName, Duration expiry) throws IOException;
+
+    /**
+     * POST 表单直传地址
+     *
+     * @throws UnsupportedOperationException 存储不支持直传时
+     */
+    String presignPostUrl();
+
+    /**
+     * POST 表单直传策略字段，由存储强制校验对象名、类型与大小上限
+     *
+     * @throws UnsupportedOperationException 存储不支持直传时
+     */
+    Map<String, String> presignPost(String objectName, String contentType, long maxSize, ZonedDateTime expiration)
+            throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.example.ybook.storage;
+
+import lombok.Value;
+
+/**
+ * 已存储对象的元数据
+ */
+@Value
+public class StoredObject {
+
+    long size;
+
+    String contentType;
+}
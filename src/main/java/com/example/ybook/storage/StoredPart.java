@@ -0,0 +1,22 @@
+package com.example.ybook.storage;
+
+import lombok.Value;
+
+/**
+ * 分片上传中已上传的分片
+ */
+@Value
+public class StoredPart {
+
+    /**
+     * 分片号，从1开始
+     */
+    int partNumber;
+
+    /**
+     * 合并时需要回传的分片标识，本地存储为空
+     */
+    String etag;
+
+    long size;
+}
@@ -0,0 +1,32 @@
+package com.example.ybook.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量上传中单个文件的结果VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "批量上传中单个文件的结果，顺序与请求中的文件顺序一致")
+public class FileUploadResultVO {
+
+    @Schema(description = "文件在请求中的序号，从0开始", example = "0")
+    private Integer index;
+
+    @Schema(description = "是否上传成功", example = "true")
+    private Boolean success;
+
+    @Schema(description = "失败原因，成功时不返回", example = "文件不能为空")
+    private String message;
+
+    @Schema(description = "上传成功时的文件信息")
+    private FileUploadVO file;
+}
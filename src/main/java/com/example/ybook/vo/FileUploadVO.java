@@ -1,5 +1,6 @@
 package com.example.ybook.vo;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,4 +31,12 @@ public class FileUploadVO {
 
     @Schema(description = "文件类型", example = "image/jpeg")
     private String contentType;
-}
\ No newline at end of file
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "图片宽度（像素），非图片或格式无法识别时不返回", example = "1920")
+    private Integer width;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "图片高度（像素），非图片或格式无法识别时不返回", example = "1080")
+    private Integer height;
+}
@@ -1,6 +1,7 @@
 package com.example.ybook.vo;
 
 import com.example.ybook.common.ImageInfo;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -62,6 +63,14 @@ public class NoteVO {
     @Schema(description = "当前用户是否已收藏")
     private Boolean isFavorited;
     
+    @Schema(description = "标题高亮片段，匹配词以 <em> 标记，仅全文检索结果返回")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String titleHighlight;
+    
+    @Schema(description = "内容高亮片段，匹配词以 <em> 标记，仅全文检索结果返回")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentHighlight;
+    
     @Schema(description = "创建时间")
     private LocalDateTime createTime;
     
@@ -0,0 +1,41 @@
+package com.example.ybook.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 直传签名VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "直传签名：客户端用 putUrl 或 postUrl + formData 直接上传到MinIO，完成后调用完成接口")
+public class PresignedUploadVO {
+
+    @Schema(description = "对象名，完成回调时原样提交", example = "2025/09/07/3f0c6a1e-9b5d-4c7e-8a2b-1d0f6e4c3b2a.jpg")
+    private String objectName;
+
+    @Schema(description = "上传完成后的文件访问URL")
+    private String url;
+
+    @Schema(description = "预签名 PUT 地址，请求体为文件内容，需带上相同的 Content-Type")
+    private String putUrl;
+
+    @Schema(description = "POST 表单上传地址，大小与类型由策略强制限制")
+    private String postUrl;
+
+    @Schema(description = "POST 表单字段，需全部原样提交，文件字段名为 file 且放在最后")
+    private Map<String, String> formData;
+
+    @Schema(description = "签名过期时间")
+    private LocalDateTime expireTime;
+}
@@ -0,0 +1,44 @@
+package com.example.ybook.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 可续传上传会话VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "可续传上传会话")
+public class UploadSessionVO {
+
+    @Schema(description = "会话ID", example = "3f0c6a1e9b5d4c7e8a2b1d0f6e4c3b2a")
+    private String sessionId;
+
+    @Schema(description = "分片大小（字节），除最后一片外每片都必须是这个大小", example = "8388608")
+    private Long chunkSize;
+
+    @Schema(description = "分片总数，分片序号从0开始", example = "13")
+    private Integer chunkCount;
+
+    @Schema(description = "文件总大小（字节）", example = "104857600")
+    private Long totalSize;
+
+    @Schema(description = "是否已完成合并", example = "false")
+    private Boolean completed;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "尚未上传的分片序号，已完成时不返回", example = "[3, 7]")
+    private List<Integer> missingChunks;
+
+    @Schema(description = "会话过期时间，过期后未完成的上传会被清理")
+    private LocalDateTime expireTime;
+}
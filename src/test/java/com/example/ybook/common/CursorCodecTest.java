@@ -0,0 +1,69 @@
+package com.example.ybook.common;
+
+import com.example.ybook.exception.BizException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsSortKeys() {
+        LocalDateTime time = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_000_000);
+
+        String[] keys = CursorCodec.decode(CursorCodec.encode(1, time, 42L), 3);
+
+        assertThat(keys).containsExactly("1", time.toString(), "42");
+        assertThat(CursorCodec.parseDateTime(keys[1])).isEqualTo(time);
+        assertThat(CursorCodec.parseLong(keys[2])).isEqualTo(42L);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"  "})
+    void blankCursorMeansFirstPage(String cursor) {
+        assertThat(CursorCodec.decode(cursor, 2)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "a", "====", "YWJj+/"})
+    void rejectsMalformedBase64(String cursor) {
+        assertInvalid(() -> CursorCodec.decode(cursor, 2));
+    }
+
+    @Test
+    void rejectsWrongKeyCount() {
+        assertInvalid(() -> CursorCodec.decode(CursorCodec.encode("2026-10-18T09:30", 1L, 2L), 2));
+        assertInvalid(() -> CursorCodec.decode(CursorCodec.encode(1L), 2));
+        // 多出的分隔符产生空键，同样视为个数不符
+        assertInvalid(() -> CursorCodec.decode(urlBase64("a|b|"), 2));
+    }
+
+    @Test
+    void rejectsUnparsableKeys() {
+        assertInvalid(() -> CursorCodec.parseLong("abc"));
+        assertInvalid(() -> CursorCodec.parseLong(""));
+        assertInvalid(() -> CursorCodec.parseLong("null"));
+        assertInvalid(() -> CursorCodec.parseDateTime("2026-13-01T00:00"));
+        assertInvalid(() -> CursorCodec.parseDateTime("yesterday"));
+    }
+
+    private static String urlBase64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(Executable executable) {
+        assertThatThrownBy(executable::execute)
+                .isInstanceOfSatisfying(BizException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(ApiCode.PARAM_INVALID));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ybook.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeltaBufferTest {
+
+    private static final int WRITERS = 8;
+    private static final int ADDS_PER_WRITER = 200_000;
+
+    /**
+     * 少量ID上反复出现 +1/-1，条目频繁归零并被 drain 移除，覆盖 add 与移除交接的竞争
+     */
+    @Test
+    void concurrentAddsAreNeverLostWhileDraining() throws Exception {
+        DeltaBuffer buffer = new DeltaBuffer();
+        long[] drainedTotals = new long[4];
+        long[] expectedTotals = new long[4];
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        try {
+            Future<?> drainer = executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    accumulate(buffer.drain(), drainedTotals);
+                }
+                return null;
+            });
+            List<Future<long[]>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    long[] added = new long[expectedTotals.length];
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    start.await();
+                    for (int i = 0; i < ADDS_PER_WRITER; i++) {
+                        int id = random.nextInt(added.length);
+                        long delta = random.nextBoolean() ? 1 : -1;
+                        buffer.add((long) id, delta);
+                        added[id] += delta;
+                    }
+                    return added;
+                }));
+            }
+
+            start.countDown();
+            for (Future<long[]> writer : writers) {
+                long[] added = writer.get(1, TimeUnit.MINUTES);
+                for (int id = 0; id < added.length; id++) {
+                    expectedTotals[id] += added[id];
+                }
+            }
+            writing.set(false);
+            drainer.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+        accumulate(buffer.drain(), drainedTotals);
+
+        assertThat(drainedTotals).containsExactly(expectedTotals);
+        for (long id = 0; id < expectedTotals.length; id++) {
+            assertThat(buffer.hasPending(id)).isFalse();
+        }
+    }
+
+    @Test
+    void drainRemovesEntriesThatStayedZero() {
+        DeltaBuffer buffer = new DeltaBuffer();
+        buffer.add(1L, 3);
+        buffer.add(2L, 1);
+        buffer.add(2L, -1);
+
+        assertThat(buffer.drain()).containsExactly(Map.entry(1L, 3L));
+        // 第一轮取出后 1 的条目归零保留，第二轮才移除
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.drain()).isEmpty();
+        assertThat(buffer.size()).isZero();
+    }
+
+    private static void accumulate(Map<Long, Long> drained, long[] totals) {
+        drained.forEach((id, delta) -> totals[Math.toIntExact(id)] += delta);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ybook.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(5, Duration.ofHours(1).toNanos());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume()).isTrue();
+        }
+        assertThat(bucket.tryConsume()).isFalse();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(2, Duration.ofMillis(200).toNanos());
+        // 先取令牌再断言，避免断言本身的耗时计入补充
+        boolean[] initial = {bucket.tryConsume(), bucket.tryConsume(), bucket.tryConsume()};
+
+        Thread.sleep(300);
+        boolean[] refilled = {bucket.tryConsume(), bucket.tryConsume(), bucket.tryConsume()};
+
+        assertThat(initial).containsExactly(true, true, false);
+        // 空闲再久也最多累积到容量
+        assertThat(refilled).containsExactly(true, true, false);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, Duration.ofHours(1).toNanos());
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryConsume()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 一小时补满 100 个，测试期间补充的令牌不足 1 个
+        assertThat(granted.get()).isEqualTo(100);
+    }
+}
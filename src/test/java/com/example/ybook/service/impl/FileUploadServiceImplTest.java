@@ -0,0 +1,69 @@
+package com.example.ybook.service.impl;
+
+import com.example.ybook.config.ImageProperties;
+import com.example.ybook.config.StorageProperties;
+import com.example.ybook.config.UploadProperties;
+import com.example.ybook.image.ImageVariants;
+import com.example.ybook.storage.LocalObjectStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 对象名中的扩展名来自客户端文件名，只保留 1~16 位字母数字
+ */
+class FileUploadServiceImplTest {
+
+    private static final String OBJECT_NAME = "\\d{4}/\\d{2}/\\d{2}/[0-9a-f-]{36}";
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage storage;
+    private FileUploadServiceImpl uploadService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.getLocal().setRoot(root);
+        storage = new LocalObjectStorage(storageProperties);
+        UploadProperties uploadProperties = new UploadProperties();
+        uploadProperties.setDedupEnabled(false);
+        uploadService = new FileUploadServiceImpl(storage, uploadProperties, Runnable::run, null,
+                new ImageVariants(storage, new ImageProperties(), null), null, null, new SimpleMeterRegistry());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "video.mp4                       | .mp4",
+            "archive.tar.GZ                  | .GZ",
+            "noextension                     | ''",
+            "trailing.                       | ''",
+            "x./../../../2026/10/18/a.jpg    | .jpg",
+            "a.jpg/../../../etc/passwd       | ''",
+            "a.jp/g                          | ''",
+            "a.j%2Fg                         | ''",
+            "a.0123456789abcdef              | .0123456789abcdef",
+            "a.0123456789abcdefg             | ''"
+    })
+    void keepsOnlyAlphanumericExtensions(String filename, String extension) {
+        byte[] content = {1, 2, 3};
+
+        String url = uploadService.uploadStream(new ByteArrayInputStream(content), filename,
+                MediaType.APPLICATION_OCTET_STREAM_VALUE, content.length, null).getUrl();
+
+        String objectName = url.substring(storage.objectUrl("").length());
+        assertThat(objectName).matches(OBJECT_NAME + Pattern.quote(extension));
+        assertThat(root.resolve(objectName)).exists();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ybook.storage;
+
+import com.example.ybook.config.StorageProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 对象名必须是 root 下的规范相对路径，不能借助 "."、".." 等路径段指向其他对象或分片目录
+ */
+class LocalObjectStorageTest {
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageProperties properties = new StorageProperties();
+        properties.getLocal().setRoot(root);
+        storage = new LocalObjectStorage(properties);
+    }
+
+    @Test
+    void storesObjectUnderRoot() throws IOException {
+        put("2026/10/18/a.jpg", "content");
+
+        assertThat(root.resolve("2026/10/18/a.jpg")).hasContent("content");
+        assertThat(storage.statObject("2026/10/18/a.jpg").getSize()).isEqualTo(7);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            ".",
+            "..",
+            "../outside.jpg",
+            "./2026/10/18/a.jpg",
+            "2026/./10/a.jpg",
+            "2026/10/../10/a.jpg",
+            "x./../../../2026/10/18/a.jpg",
+            "/etc/passwd",
+            "2026//10/a.jpg",
+            "2026/10/",
+            ".multipart",
+            ".multipart/0123456789abcdef0123456789abcdef/1"
+    })
+    void rejectsNonCanonicalNames(String objectName) {
+        assertThatThrownBy(() -> put(objectName, "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.statObject(objectName)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.removeObject(objectName)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void traversalCannotOverwriteAnotherObject() throws IOException {
+        put("2026/10/18/a.jpg", "original");
+
+        assertThatThrownBy(() -> put("2026/10/17/x./../../18/a.jpg", "forged"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(root.resolve("2026/10/18/a.jpg")).hasContent("original");
+    }
+
+    @Test
+    void abortRemovesMultipartDirectory() throws IOException {
+        String uploadId = storage.createMultipartUpload("2026/10/18/b.bin", "application/octet-stream");
+        storage.uploadPart("2026/10/18/b.bin", uploadId, 1, "part".getBytes(StandardCharsets.UTF_8));
+
+        storage.abortMultipartUpload("2026/10/18/b.bin", uploadId);
+
+        assertThat(Files.exists(root.resolve(".multipart").resolve(uploadId))).isFalse();
+    }
+
+    private void put(String objectName, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        storage.putObject(objectName, new ByteArrayInputStream(bytes), bytes.length, "application/octet-stream");
+    }
+}